@@ -0,0 +1,45 @@
+package com.notes.benchmark;
+
+import com.notes.config.BackgroundConfig;
+import com.notes.config.ClassConfig;
+import com.notes.config.SpeciesConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building every catalog entity from the static config maps, as startup seeding does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CatalogBenchmark {
+    @Benchmark
+    public void createAllSpecies(Blackhole blackhole) {
+        for (String name : SpeciesConfig.getAllSpeciesNames()) {
+            blackhole.consume(SpeciesConfig.createSpecies(name));
+        }
+    }
+
+    @Benchmark
+    public void createAllBackgrounds(Blackhole blackhole) {
+        for (String name : BackgroundConfig.getAllBackgroundNames()) {
+            blackhole.consume(BackgroundConfig.createBackground(name));
+        }
+    }
+
+    @Benchmark
+    public void createAllClasses(Blackhole blackhole) {
+        for (String name : ClassConfig.getAllClassNames()) {
+            blackhole.consume(ClassConfig.createClass(name));
+        }
+    }
+}
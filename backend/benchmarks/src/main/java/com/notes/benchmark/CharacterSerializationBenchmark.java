@@ -0,0 +1,59 @@
+package com.notes.benchmark;
+
+import com.notes.model.Character;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a sheet as GET /api/characters/{id} does: the bare row with catalog
+ * ids, and the row with species, background and class attached the way
+ * CharacterAssembler attaches them from pre-built catalog trees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CharacterSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private Character character;
+    private JsonNode species;
+    private JsonNode background;
+    private JsonNode characterClass;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        character = Fixtures.fullCharacter();
+        species = objectMapper.valueToTree(Fixtures.SPECIES);
+        background = objectMapper.valueToTree(Fixtures.BACKGROUND);
+        characterClass = objectMapper.valueToTree(Fixtures.CHARACTER_CLASS);
+    }
+
+    @Benchmark
+    public byte[] serializeCharacter() throws Exception {
+        return objectMapper.writeValueAsBytes(character);
+    }
+
+    @Benchmark
+    public byte[] serializeExpandedCharacter() throws Exception {
+        ObjectNode node = objectMapper.valueToTree(character);
+        node.set("species", species);
+        node.set("background", background);
+        node.set("characterClass", characterClass);
+        return objectMapper.writeValueAsBytes(node);
+    }
+}
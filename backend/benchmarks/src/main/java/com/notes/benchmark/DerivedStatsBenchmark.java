@@ -0,0 +1,56 @@
+package com.notes.benchmark;
+
+import com.notes.model.Character;
+import com.notes.service.DerivedStatsEngine;
+import com.notes.service.ReferenceCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computing the derived sheet of the fixture character, as a cache miss on
+ * GET /characters/{id}/derived does: skills and weapons are parsed and the
+ * class is looked up for spellcasting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DerivedStatsBenchmark {
+    private DerivedStatsEngine engine;
+    private Character character;
+
+    @Setup
+    public void setUp() {
+        ReferenceCatalog.Snapshot snapshot = new ReferenceCatalog.Snapshot("benchmark",
+                Map.of(Fixtures.SPECIES.getId(), Fixtures.SPECIES),
+                Map.of(Fixtures.BACKGROUND.getId(), Fixtures.BACKGROUND),
+                Map.of(Fixtures.CHARACTER_CLASS.getId(), Fixtures.CHARACTER_CLASS),
+                Map.of(), Map.of(), Map.of(), new byte[0], new byte[0], new byte[0]);
+        ReferenceCatalog catalog = new ReferenceCatalog() {
+            @Override
+            public Snapshot getSnapshot() {
+                return snapshot;
+            }
+        };
+        engine = new DerivedStatsEngine(Fixtures.objectMapper(), catalog);
+        character = Fixtures.fullCharacter();
+    }
+
+    @Benchmark
+    public void compute(Blackhole blackhole) {
+        blackhole.consume(engine.compute(character));
+    }
+}
@@ -0,0 +1,73 @@
+package com.notes.benchmark;
+
+import com.notes.config.BackgroundConfig;
+import com.notes.config.ClassConfig;
+import com.notes.config.SpeciesConfig;
+import com.notes.model.Background;
+import com.notes.model.Character;
+import com.notes.model.CharacterClass;
+import com.notes.model.Species;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.LocalDateTime;
+
+/**
+ * Deterministic inputs shared by the benchmarks, so runs on different commits
+ * measure the same work.
+ */
+final class Fixtures {
+    // Shaped like the web client writes them: skills name their ability in full,
+    // weapons use the sheet's STR/DEX/.../Finesse stat keys
+    static final String SKILLS = "[{\"name\":\"Athletics\",\"ability\":\"Strength\",\"proficiency\":\"proficient\",\"other\":0},{\"name\":\"Perception\",\"ability\":\"Wisdom\",\"proficiency\":\"proficient\",\"other\":0},{\"name\":\"Stealth\",\"ability\":\"Dexterity\",\"proficiency\":\"none\",\"other\":0},{\"name\":\"Arcana\",\"ability\":\"Intelligence\",\"proficiency\":\"expertise\",\"other\":1}]";
+    static final String COINS = "{\"platinum\":0,\"gold\":150,\"electrum\":0,\"silver\":25,\"copper\":0}";
+    static final String ITEMS = "[{\"id\":\"1\",\"name\":\"Longsword\",\"description\":\"A well-crafted longsword\",\"quantity\":1,\"weight\":3.0},{\"id\":\"2\",\"name\":\"Healing Potion\",\"description\":\"Restores 2d4+2 hit points\",\"quantity\":3,\"weight\":0.5}]";
+    static final String SPELL_SLOTS = "[{\"level\":1,\"used\":1,\"max\":4},{\"level\":2,\"used\":0,\"max\":3},{\"level\":3,\"used\":0,\"max\":2},{\"level\":4,\"used\":0,\"max\":0},{\"level\":5,\"used\":0,\"max\":0},{\"level\":6,\"used\":0,\"max\":0},{\"level\":7,\"used\":0,\"max\":0},{\"level\":8,\"used\":0,\"max\":0},{\"level\":9,\"used\":0,\"max\":0}]";
+    static final String SPELLS = "[{\"id\":\"1\",\"name\":\"Magic Missile\",\"castTime\":\"1 action\",\"gainedFrom\":\"Wizard\",\"targetArea\":\"\",\"range\":\"120 feet\",\"duration\":\"Instantaneous\",\"description\":\"You create three glowing darts of magical force.\",\"materialComponents\":\"\",\"school\":\"Evocation\",\"prepared\":\"Yes\",\"spellLevel\":\"1\",\"concentration\":false,\"ritual\":false,\"verbal\":true,\"somatic\":true,\"material\":false},{\"id\":\"2\",\"name\":\"Detect Magic\",\"castTime\":\"1 action\",\"gainedFrom\":\"Wizard\",\"targetArea\":\"30 feet\",\"range\":\"Self\",\"duration\":\"10 minutes\",\"description\":\"For the duration, you sense the presence of magic within 30 feet of you.\",\"materialComponents\":\"\",\"school\":\"Divination\",\"prepared\":\"Always\",\"spellLevel\":\"1\",\"concentration\":true,\"ritual\":true,\"verbal\":true,\"somatic\":true,\"material\":false}]";
+    static final String WEAPONS = "[{\"id\":\"1\",\"proficient\":true,\"name\":\"Longsword\",\"attackType\":\"Melee\",\"stat\":\"STR\",\"magicBonus\":0,\"toHit\":5,\"damageDice\":\"1d8\",\"plusStat\":true,\"damageBonus\":0,\"damageType\":\"Slashing\",\"critDamage\":\"2d8\",\"critOn\":20}]";
+    static final String CLASS_ACTIONS = "[{\"id\":\"1\",\"name\":\"Second Wind\",\"description\":\"Regain 1d10 + level HP\",\"gainedFrom\":\"Fighter\",\"currentlyUsed\":0,\"maxUses\":2}]";
+
+    // Carry the same CatalogIds the seeder assigns
+    static final Species SPECIES = SpeciesConfig.createSpecies("Aasimar");
+    static final Background BACKGROUND = BackgroundConfig.createBackground("Acolyte");
+    static final CharacterClass CHARACTER_CLASS = ClassConfig.createClass("Wizard");
+
+    private Fixtures() {
+    }
+
+    // Configured like the mapper Spring Boot builds for the web layer
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static Character fullCharacter() {
+        Character character = new Character();
+        character.setId(1L);
+        character.setName("Benchmark Character");
+        character.setSpeciesId(SPECIES.getId());
+        character.setBackgroundId(BACKGROUND.getId());
+        character.setClassId(CHARACTER_CLASS.getId());
+        character.setLevel(5);
+        character.setTemporaryHp(3);
+        character.setCurrentHp(27);
+        character.setMaxHp(32);
+        character.setSpeed(30);
+        character.setStrength(8);
+        character.setDexterity(14);
+        character.setConstitution(13);
+        character.setIntelligence(17);
+        character.setWisdom(12);
+        character.setCharisma(10);
+        character.setCoins(COINS);
+        character.setItems(ITEMS);
+        character.setSkills(SKILLS);
+        character.setSpellSlots(SPELL_SLOTS);
+        character.setSpells(SPELLS);
+        character.setWeapons(WEAPONS);
+        character.setClassActions(CLASS_ACTIONS);
+        character.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return character;
+    }
+}
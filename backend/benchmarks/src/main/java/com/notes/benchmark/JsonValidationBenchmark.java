@@ -0,0 +1,46 @@
+package com.notes.benchmark;
+
+import com.notes.model.CharacterField;
+import com.notes.validation.CharacterJsonValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The old per-request "new ObjectMapper().readTree()" check against the streaming
+ * schema validator. Run with -prof gc to compare gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonValidationBenchmark {
+    private CharacterJsonValidator validator;
+
+    @Setup
+    public void setUp() {
+        validator = new CharacterJsonValidator(Fixtures.objectMapper(), 262144);
+    }
+
+    @Benchmark
+    public JsonNode readTreeWithNewMapper() throws Exception {
+        return new ObjectMapper().readTree(Fixtures.SPELLS);
+    }
+
+    @Benchmark
+    public void streamingValidator() {
+        validator.validate(CharacterField.SPELLS, Fixtures.SPELLS);
+    }
+}
@@ -0,0 +1,43 @@
+package com.notes.benchmark;
+
+import com.notes.model.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The six ability modifier getters, which Jackson calls for every serialized sheet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ModifierBenchmark {
+    private Character character;
+
+    @Setup
+    public void setUp() {
+        character = Fixtures.fullCharacter();
+    }
+
+    @Benchmark
+    public void allModifiers(Blackhole blackhole) {
+        blackhole.consume(character.getStrengthModifier());
+        blackhole.consume(character.getDexterityModifier());
+        blackhole.consume(character.getConstitutionModifier());
+        blackhole.consume(character.getIntelligenceModifier());
+        blackhole.consume(character.getWisdomModifier());
+        blackhole.consume(character.getCharismaModifier());
+    }
+}
@@ -0,0 +1,76 @@
+package com.notes.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding the Map&lt;String, String&gt; request bodies of createCharacter and
+ * updateCharacter, as the message converter does before the controller runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RequestBodyBenchmark {
+    private static final TypeReference<Map<String, String>> BODY_TYPE = new TypeReference<>() {};
+
+    private ObjectMapper objectMapper;
+    private byte[] createBody;
+    private byte[] updateBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Fixtures.objectMapper();
+
+        Map<String, String> create = new LinkedHashMap<>();
+        create.put("name", "Benchmark Character");
+        create.put("speciesId", new UUID(1, 1).toString());
+        create.put("backgroundId", new UUID(2, 2).toString());
+        create.put("classId", new UUID(3, 3).toString());
+        create.put("strength", "8");
+        create.put("dexterity", "14");
+        create.put("constitution", "13");
+        create.put("intelligence", "17");
+        create.put("wisdom", "12");
+        create.put("charisma", "10");
+        createBody = objectMapper.writeValueAsString(create).getBytes(StandardCharsets.UTF_8);
+
+        Map<String, String> update = new LinkedHashMap<>(create);
+        update.put("level", "5");
+        update.put("temporaryHp", "3");
+        update.put("currentHp", "27");
+        update.put("maxHp", "32");
+        update.put("speed", "30");
+        update.put("coins", Fixtures.COINS);
+        update.put("items", Fixtures.ITEMS);
+        update.put("details", "{\"background\":\"\",\"classFeatures\":\"\",\"speciesFeatures\":\"\",\"otherFeatures\":\"\",\"notes\":\"\",\"connections\":\"\"}");
+        updateBody = objectMapper.writeValueAsString(update).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, String> parseCreateBody() throws Exception {
+        return objectMapper.readValue(createBody, BODY_TYPE);
+    }
+
+    @Benchmark
+    public Map<String, String> parseUpdateBody() throws Exception {
+        return objectMapper.readValue(updateBody, BODY_TYPE);
+    }
+}
@@ -0,0 +1,181 @@
+package com.notes.loadtest;
+
+import com.notes.NotesApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the backend against an embedded PostgreSQL, seeds characters through the
+ * API, replays a mixed player session workload and prints throughput, latency
+ * percentiles and SQL statements per request for each endpoint.
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.args="--users=50 --duration=60 --characters=500"
+ * </pre>
+ *
+ * {@code --virtual-threads=true} serves the requests on virtual threads,
+ * for comparing both modes at the same concurrency.
+ */
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int characters = Integer.parseInt(options.getOrDefault("characters", "200"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        boolean virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false"));
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            ConfigurableApplicationContext context = new SpringApplication(NotesApplication.class, LoadTestConfiguration.class).run(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--server.port=0",
+                    "--notes.threads.virtual=" + virtualThreads,
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=ERROR",
+                    "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + QueryCounter.class.getName());
+            try {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                ObjectMapper objectMapper = new ObjectMapper();
+                HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+                Map<String, String> createRequest = createRequest(client, objectMapper, baseUrl);
+                List<Long> characterIds = seedCharacters(client, objectMapper, baseUrl, createRequest, characters);
+                System.out.printf("Seeded %d characters, %d users, %ds warmup, %ds measured, %s threads%n",
+                        characterIds.size(), users, warmupSeconds, durationSeconds, virtualThreads ? "virtual" : "platform");
+
+                QueryCountFilter queryCounts = context.getBean(QueryCountFilter.class);
+                if (warmupSeconds > 0) {
+                    run(client, objectMapper, baseUrl, characterIds, createRequest, users, warmupSeconds, thinkMillis, seed);
+                    queryCounts.clear();
+                }
+                Recorder results = run(client, objectMapper, baseUrl, characterIds, createRequest, users, durationSeconds, thinkMillis, seed + 1);
+                report(results, queryCounts, durationSeconds);
+                // Includes the client's own session threads, one per user
+                System.out.printf("Peak platform threads: %d%n", ManagementFactory.getThreadMXBean().getPeakThreadCount());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static Recorder run(HttpClient client, ObjectMapper objectMapper, String baseUrl, List<Long> characterIds,
+                                Map<String, String> createRequest, int users, int seconds, long thinkMillis,
+                                long seed) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                futures.add(executor.submit(new SessionWorker(client, objectMapper, baseUrl, characterIds,
+                        createRequest, deadline, thinkMillis, seed * 31 + i)));
+            }
+            Recorder merged = new Recorder();
+            for (Future<Recorder> future : futures) {
+                merged.merge(future.get());
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void report(Recorder results, QueryCountFilter queryCounts, int seconds) {
+        System.out.printf("%n%-40s %8s %6s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "409", "4xx", "5xx", "failed", "req/s", "p50 ms", "p95 ms", "p99 ms", "queries");
+        long total = 0;
+        for (Map.Entry<String, Recorder.Samples> entry : results.getSamples().entrySet()) {
+            Recorder.Samples samples = entry.getValue();
+            long[] sorted = samples.sorted();
+            total += samples.count();
+            System.out.printf("%-40s %8d %6d %6d %6d %6d %9.1f %9.2f %9.2f %9.2f %9.1f%n",
+                    entry.getKey(), samples.count(), samples.conflicts(), samples.clientErrors(),
+                    samples.serverErrors(), samples.failures(), (double) samples.count() / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    queryCounts.averageQueries(entry.getKey()));
+        }
+        System.out.printf("%-40s %8d %27s %9.1f%n", "total", total, "", (double) total / seconds);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<String, String> createRequest(HttpClient client, ObjectMapper objectMapper, String baseUrl) throws Exception {
+        Map<String, String> request = new HashMap<>();
+        request.put("name", "Load Test Character");
+        request.put("speciesId", firstId(client, objectMapper, baseUrl + "/api/species"));
+        request.put("backgroundId", firstId(client, objectMapper, baseUrl + "/api/backgrounds"));
+        request.put("classId", firstId(client, objectMapper, baseUrl + "/api/classes"));
+        request.put("strength", "15");
+        request.put("dexterity", "14");
+        request.put("constitution", "13");
+        request.put("intelligence", "12");
+        request.put("wisdom", "10");
+        request.put("charisma", "8");
+        return request;
+    }
+
+    private static String firstId(HttpClient client, ObjectMapper objectMapper, String url) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode catalog = objectMapper.readTree(response.body());
+        if (!catalog.isArray() || catalog.isEmpty()) {
+            throw new IllegalStateException("Catalog at " + url + " is empty");
+        }
+        return catalog.get(0).path("id").asText();
+    }
+
+    private static List<Long> seedCharacters(HttpClient client, ObjectMapper objectMapper, String baseUrl,
+                                             Map<String, String> createRequest, int count) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/characters"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(createRequest)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed: " + response.body());
+            }
+            ids.add(objectMapper.readTree(response.body()).path("id").asLong());
+        }
+        return List.copyOf(ids);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
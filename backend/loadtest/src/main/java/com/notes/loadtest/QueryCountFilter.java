@@ -0,0 +1,49 @@
+package com.notes.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attributes the statements counted by {@link QueryCounter} to the handler pattern
+ * of each request, e.g. "GET /api/characters/{id}".
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+    private final Map<String, LongAdder[]> totals = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                LongAdder[] counts = totals.computeIfAbsent(request.getMethod() + " " + pattern,
+                        key -> new LongAdder[] { new LongAdder(), new LongAdder() });
+                counts[0].increment();
+                counts[1].add(QueryCounter.current());
+            }
+        }
+    }
+
+    double averageQueries(String endpoint) {
+        LongAdder[] counts = totals.get(endpoint);
+        if (counts == null || counts[0].sum() == 0) {
+            return Double.NaN;
+        }
+        return (double) counts[1].sum() / counts[0].sum();
+    }
+
+    void clear() {
+        totals.clear();
+    }
+}
@@ -0,0 +1,93 @@
+package com.notes.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and errors per endpoint, recorded by a single worker and merged at the end.
+ * Version conflicts (409) are counted apart from other client errors, server errors
+ * and requests that got no response at all.
+ */
+class Recorder {
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    void record(String endpoint, long nanos, int status) {
+        Samples entry = samples.computeIfAbsent(endpoint, key -> new Samples());
+        entry.add(nanos);
+        if (status == 409) {
+            entry.conflicts++;
+        } else if (status >= 500) {
+            entry.serverErrors++;
+        } else if (status >= 400) {
+            entry.clientErrors++;
+        }
+    }
+
+    void recordFailure(String endpoint, long nanos) {
+        Samples entry = samples.computeIfAbsent(endpoint, key -> new Samples());
+        entry.add(nanos);
+        entry.failures++;
+    }
+
+    void merge(Recorder other) {
+        other.samples.forEach((endpoint, theirs) -> {
+            Samples ours = samples.computeIfAbsent(endpoint, key -> new Samples());
+            for (int i = 0; i < theirs.size; i++) {
+                ours.add(theirs.nanos[i]);
+            }
+            ours.conflicts += theirs.conflicts;
+            ours.clientErrors += theirs.clientErrors;
+            ours.serverErrors += theirs.serverErrors;
+            ours.failures += theirs.failures;
+        });
+    }
+
+    Map<String, Samples> getSamples() {
+        return samples;
+    }
+
+    static class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long conflicts;
+        private long clientErrors;
+        private long serverErrors;
+        private long failures;
+
+        private void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        int count() {
+            return size;
+        }
+
+        long conflicts() {
+            return conflicts;
+        }
+
+        // 4xx other than 409
+        long clientErrors() {
+            return clientErrors;
+        }
+
+        long serverErrors() {
+            return serverErrors;
+        }
+
+        // No response: connection errors and timeouts
+        long failures() {
+            return failures;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.notes.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * One simulated player. Mostly re-reads sheets, sometimes fires bursts of
+ * inventory or spell-slot saves the way the sheet tabs do, and occasionally
+ * creates and deletes its own characters.
+ */
+class SessionWorker implements Callable<Recorder> {
+    private static final String GET_CHARACTER = "GET /api/characters/{id}";
+    private static final String LIST_CHARACTERS = "GET /api/characters";
+    private static final String PUT_INVENTORY = "PUT /api/characters/{id}/inventory";
+    private static final String PUT_SPELL_SLOTS = "PUT /api/characters/{id}/spell-slots";
+    private static final String CREATE_CHARACTER = "POST /api/characters";
+    private static final String DELETE_CHARACTER = "DELETE /api/characters/{id}";
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final List<Long> characterIds;
+    private final Map<String, String> createRequest;
+    private final long deadlineNanos;
+    private final long thinkMillis;
+    private final Random random;
+    private final Recorder recorder = new Recorder();
+    private final List<Long> created = new ArrayList<>();
+
+    SessionWorker(HttpClient client, ObjectMapper objectMapper, String baseUrl, List<Long> characterIds,
+                  Map<String, String> createRequest, long deadlineNanos, long thinkMillis, long seed) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.characterIds = characterIds;
+        this.createRequest = createRequest;
+        this.deadlineNanos = deadlineNanos;
+        this.thinkMillis = thinkMillis;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public Recorder call() throws Exception {
+        while (System.nanoTime() < deadlineNanos) {
+            long id = characterIds.get(random.nextInt(characterIds.size()));
+            double roll = random.nextDouble();
+            if (roll < 0.60) {
+                send(GET_CHARACTER, get("/api/characters/" + id));
+            } else if (roll < 0.80) {
+                int burst = 3 + random.nextInt(4);
+                for (int i = 0; i < burst; i++) {
+                    send(PUT_INVENTORY, put("/api/characters/" + id + "/inventory", Map.of(
+                            "coins", "{\"platinum\":0,\"gold\":" + random.nextInt(500) + ",\"electrum\":0,\"silver\":" + random.nextInt(100) + ",\"copper\":0}",
+                            "items", "[{\"id\":\"1\",\"name\":\"Healing Potion\",\"description\":\"Restores 2d4+2 hit points\",\"quantity\":" + (1 + random.nextInt(5)) + ",\"weight\":0.5}]")));
+                }
+            } else if (roll < 0.90) {
+                int burst = 2 + random.nextInt(3);
+                for (int i = 0; i < burst; i++) {
+                    send(PUT_SPELL_SLOTS, put("/api/characters/" + id + "/spell-slots", Map.of("spellSlots", spellSlots())));
+                }
+            } else if (roll < 0.95) {
+                send(LIST_CHARACTERS, get("/api/characters?limit=50"));
+            } else if (roll < 0.98 || created.isEmpty()) {
+                HttpResponse<String> response = send(CREATE_CHARACTER, post("/api/characters", createRequest));
+                if (response != null && response.statusCode() == 200) {
+                    JsonNode body = objectMapper.readTree(response.body());
+                    created.add(body.path("id").asLong());
+                }
+            } else {
+                long own = created.remove(created.size() - 1);
+                send(DELETE_CHARACTER, delete("/api/characters/" + own));
+            }
+            if (thinkMillis > 0) {
+                Thread.sleep(thinkMillis);
+            }
+        }
+        return recorder;
+    }
+
+    private String spellSlots() {
+        return IntStream.rangeClosed(1, 9)
+                .mapToObj(level -> "{\"level\":" + level + ",\"used\":" + random.nextInt(2) + ",\"max\":" + (level <= 3 ? 2 : 0) + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (Exception e) {
+            recorder.recordFailure(endpoint, System.nanoTime() - start);
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).DELETE().build();
+    }
+
+    private HttpRequest put(String path, Map<String, String> body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+}
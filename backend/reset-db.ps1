@@ -15,12 +15,11 @@ try {
     $conn = New-Object Npgsql.NpgsqlConnection($connString)
     $conn.Open()
 
-    # SQL commands to reset the database
+    # Drop everything Flyway owns, including its history table, so the next
+    # start runs all migrations again and reseeds the catalog
     $sql = @"
-    DROP TABLE IF EXISTS species_traits CASCADE;
-    DROP TABLE IF EXISTS trait CASCADE;
-    DROP TABLE IF EXISTS character CASCADE;
-    DROP TABLE IF EXISTS species CASCADE;
+    DROP SCHEMA public CASCADE;
+    CREATE SCHEMA public;
 "@
 
     # Create command and execute
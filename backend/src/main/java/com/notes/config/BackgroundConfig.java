@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Consumer;
 
 public class BackgroundConfig {
     private static final Map<String, List<FeatureDefinition>> BACKGROUND_FEATURES = new HashMap<>();
@@ -37,6 +38,7 @@ public class BackgroundConfig {
 
         Background background = new Background();
         background.setName(name);
+        background.setId(CatalogIds.of("background", name));
         
         List<BackgroundFeature> features = BACKGROUND_FEATURES.get(name).stream()
             .map(def -> {
@@ -46,6 +48,9 @@ public class BackgroundConfig {
             })
             .toList();
         
+        for (int i = 0; i < features.size(); i++) {
+            features.get(i).setId(CatalogIds.of("background", name, i));
+        }
         background.setFeatures(features);
         return background;
     }
@@ -54,6 +59,18 @@ public class BackgroundConfig {
         return BACKGROUND_FEATURES.keySet().stream().toList();
     }
 
+    static void digest(Consumer<String> values) {
+        BACKGROUND_FEATURES.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> {
+                values.accept(entry.getKey());
+                entry.getValue().forEach(def -> {
+                    values.accept(def.title);
+                    values.accept(def.description);
+                });
+            });
+    }
+
     private static class FeatureDefinition {
         final String title;
         final String description;
@@ -0,0 +1,34 @@
+package com.notes.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Lets clients ask for character sheets as CBOR ({@code Accept: application/cbor})
+ * or Smile ({@code Accept: application/x-jackson-smile}) instead of JSON. Both
+ * carry the same tree as the JSON response; strings are written as length-prefixed
+ * bytes, so the JSON-in-string columns travel without a second layer of escaping
+ * and parse without unescaping. JSON stays the default when Accept allows it.
+ *
+ * <p>The mappers come from Boot's builder, so they share the spring.jackson settings
+ * and modules of the JSON mapper. Boot puts these beans in place of the default
+ * converters of the same type.
+ */
+@Configuration
+public class BinaryFormatConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,19 @@
+package com.notes.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+public class CatalogIds {
+    // Name-based ids, so every seeding run assigns a catalog entry the same id and
+    // characters referencing it stay valid after the catalog is upserted again
+    public static UUID of(String kind, String name) {
+        return UUID.nameUUIDFromBytes((kind + ":" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UUID of(String kind, String name, int index) {
+        return of(kind, name + "#" + index);
+    }
+
+    private CatalogIds() {
+    }
+}
@@ -0,0 +1,38 @@
+package com.notes.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class CatalogVersion {
+    private static final String CURRENT = compute();
+
+    // Checksum over every species, background and class definition. It only changes
+    // when the static catalog maps change, i.e. between builds, never at runtime.
+    public static String current() {
+        return CURRENT;
+    }
+
+    private static String compute() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Each catalog hands over its definitions in a fixed order
+            SpeciesConfig.digest(value -> update(digest, value));
+            BackgroundConfig.digest(value -> update(digest, value));
+            ClassConfig.digest(value -> update(digest, value));
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Terminated, so adjacent values cannot run together into the same bytes
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private CatalogVersion() {
+    }
+}
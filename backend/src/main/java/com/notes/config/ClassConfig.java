@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Consumer;
 
 public class ClassConfig {
     private static final Map<String, List<FeatureDefinition>> CLASS_FEATURES = new HashMap<>();
@@ -36,6 +37,7 @@ public class ClassConfig {
 
         CharacterClass characterClass = new CharacterClass();
         characterClass.setName(name);
+        characterClass.setId(CatalogIds.of("class", name));
         
         // Set hit die based on class
         switch (name) {
@@ -52,6 +54,9 @@ public class ClassConfig {
             })
             .toList();
         
+        for (int i = 0; i < features.size(); i++) {
+            features.get(i).setId(CatalogIds.of("class", name, i));
+        }
         characterClass.setFeatures(features);
         return characterClass;
     }
@@ -60,6 +65,19 @@ public class ClassConfig {
         return CLASS_FEATURES.keySet().stream().toList();
     }
 
+    static void digest(Consumer<String> values) {
+        CLASS_FEATURES.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> {
+                values.accept(entry.getKey());
+                entry.getValue().forEach(def -> {
+                    values.accept(def.title);
+                    values.accept(def.description);
+                    values.accept(String.valueOf(def.level));
+                });
+            });
+    }
+
     private static class FeatureDefinition {
         final String title;
         final String description;
@@ -0,0 +1,37 @@
+package com.notes.config;
+
+import com.notes.model.Character;
+import java.util.UUID;
+
+public class DebugCharacter {
+    private static final String SKILLS = "[{\"name\":\"Athletics\",\"ability\":\"Strength\",\"proficiency\":\"proficient\",\"other\":0},{\"name\":\"Perception\",\"ability\":\"Wisdom\",\"proficiency\":\"proficient\",\"other\":0},{\"name\":\"Stealth\",\"ability\":\"Dexterity\",\"proficiency\":\"none\",\"other\":0}]";
+    private static final String COINS = "{\"platinum\":0,\"gold\":150,\"electrum\":0,\"silver\":25,\"copper\":0}";
+    private static final String ITEMS = "[{\"id\":\"1\",\"name\":\"Longsword\",\"description\":\"A well-crafted longsword\",\"quantity\":1,\"weight\":3.0},{\"id\":\"2\",\"name\":\"Healing Potion\",\"description\":\"Restores 2d4+2 hit points\",\"quantity\":3,\"weight\":0.5}]";
+
+    // A level 3 character with a few skills and some inventory, for trying out the sheet
+    public static Character create(String name, UUID speciesId, UUID backgroundId, UUID classId) {
+        Character character = new Character();
+        character.setName(name);
+        character.setSpeciesId(speciesId);
+        character.setBackgroundId(backgroundId);
+        character.setClassId(classId);
+        character.setLevel(3);
+        character.setTemporaryHp(0);
+        character.setCurrentHp(25);
+        character.setMaxHp(25);
+        character.setSpeed(30);
+        character.setStrength(16);
+        character.setDexterity(14);
+        character.setConstitution(15);
+        character.setIntelligence(12);
+        character.setWisdom(13);
+        character.setCharisma(10);
+        character.setSkills(SKILLS);
+        character.setCoins(COINS);
+        character.setItems(ITEMS);
+        return character;
+    }
+
+    private DebugCharacter() {
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Consumer;
 
 public class SpeciesConfig {
     private static final Map<String, List<TraitDefinition>> SPECIES_TRAITS = new HashMap<>();
@@ -79,6 +80,7 @@ public class SpeciesConfig {
 
         Species species = new Species();
         species.setName(name);
+        species.setId(CatalogIds.of("species", name));
         
         List<Trait> traits = SPECIES_TRAITS.get(name).stream()
             .map(def -> {
@@ -88,6 +90,9 @@ public class SpeciesConfig {
             })
             .toList();
         
+        for (int i = 0; i < traits.size(); i++) {
+            traits.get(i).setId(CatalogIds.of("species", name, i));
+        }
         species.setTraits(traits);
         return species;
     }
@@ -96,6 +101,18 @@ public class SpeciesConfig {
         return SPECIES_TRAITS.keySet().stream().toList();
     }
 
+    static void digest(Consumer<String> values) {
+        SPECIES_TRAITS.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> {
+                values.accept(entry.getKey());
+                entry.getValue().forEach(def -> {
+                    values.accept(def.title);
+                    values.accept(def.description);
+                });
+            });
+    }
+
     private static class TraitDefinition {
         final String title;
         final String description;
@@ -0,0 +1,30 @@
+package com.notes.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves each request on its own virtual thread instead of Tomcat's platform
+ * thread pool. Requests block on JDBC for most of their time; a blocked virtual
+ * thread gives its carrier back, so concurrent sessions are no longer limited by
+ * the number of platform threads and their stacks. Concurrent database work is
+ * still limited by the Hikari pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "notes.threads.virtual", havingValue = "true")
+public class VirtualThreadConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        logger.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+}
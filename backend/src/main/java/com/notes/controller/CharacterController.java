@@ -1,6 +1,14 @@
 package com.notes.controller;
 
+import com.notes.dto.CharacterConflict;
+import com.notes.dto.ImportResult;
+import com.notes.dto.RollResult;
+import com.notes.dto.CharacterSummary;
+import com.notes.dto.WriteBufferStats;
+import com.notes.events.CharacterEventHub;
+import com.notes.events.CharacterEvents;
 import com.notes.model.Character;
+import com.notes.model.CharacterField;
 import com.notes.model.Species;
 import com.notes.model.Background;
 import com.notes.model.CharacterClass;
@@ -8,24 +16,48 @@ import com.notes.repository.CharacterRepository;
 import com.notes.repository.SpeciesRepository;
 import com.notes.repository.BackgroundRepository;
 import com.notes.repository.CharacterClassRepository;
-import com.notes.config.SpeciesConfig;
-import com.notes.config.BackgroundConfig;
-import com.notes.config.ClassConfig;
+import com.notes.config.DebugCharacter;
+import com.notes.service.CharacterAssembler;
+import com.notes.service.CharacterCache;
+import com.notes.service.CharacterConflictService;
+import com.notes.service.CharacterPatchService;
+import com.notes.service.CharacterQueryService;
+import com.notes.service.CharacterTransferService;
+import com.notes.service.CharacterWriteBuffer;
+import com.notes.service.DiceRoller;
+import com.notes.service.ReferenceCatalog;
+import com.notes.validation.CharacterJsonValidator;
 import jakarta.validation.Valid;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.function.IntConsumer;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*")
 public class CharacterController {
     private static final Logger logger = LoggerFactory.getLogger(CharacterController.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_STREAM_CHARACTERS = 100;
+    private static final int MAX_BATCH_CREATE = 500;
+    private static final int MAX_NAME_FILTER_LENGTH = 100;
+    private static final int MAX_ROLL_LABEL_LENGTH = 100;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @Autowired
     private CharacterRepository characterRepository;
@@ -39,130 +71,98 @@ public class CharacterController {
     @Autowired
     private CharacterClassRepository characterClassRepository;
 
-    @PostConstruct
-    public void init() {
-        try {
-            // Initialize species if they don't exist
-            if (speciesRepository.count() == 0) {
-                logger.info("Initializing species data...");
-                for (String speciesName : SpeciesConfig.getAllSpeciesNames()) {
-                    try {
-                        Species species = SpeciesConfig.createSpecies(speciesName);
-                        Species savedSpecies = speciesRepository.save(species);
-                        logger.info("Created {} species with ID: {}", speciesName, savedSpecies.getId());
-                    } catch (Exception e) {
-                        logger.error("Error creating species {}: {}", speciesName, e.getMessage());
-                    }
-                }
-                logger.info("Species initialization complete");
-            } else {
-                logger.info("Species already exist, skipping initialization");
-            }
-
-            // Initialize backgrounds if they don't exist
-            if (backgroundRepository.count() == 0) {
-                logger.info("Initializing background data...");
-                for (String backgroundName : BackgroundConfig.getAllBackgroundNames()) {
-                    try {
-                        Background background = BackgroundConfig.createBackground(backgroundName);
-                        Background savedBackground = backgroundRepository.save(background);
-                        logger.info("Created {} background with ID: {}", backgroundName, savedBackground.getId());
-                    } catch (Exception e) {
-                        logger.error("Error creating background {}: {}", backgroundName, e.getMessage());
-                    }
-                }
-                logger.info("Background initialization complete");
-            } else {
-                logger.info("Backgrounds already exist, skipping initialization");
-            }
-
-            // Initialize classes if they don't exist
-            if (characterClassRepository.count() == 0) {
-                logger.info("Initializing class data...");
-                for (String className : ClassConfig.getAllClassNames()) {
-                    try {
-                        CharacterClass characterClass = ClassConfig.createClass(className);
-                        CharacterClass savedClass = characterClassRepository.save(characterClass);
-                        logger.info("Created {} class with ID: {}", className, savedClass.getId());
-                    } catch (Exception e) {
-                        logger.error("Error creating class {}: {}", className, e.getMessage());
-                    }
-                }
-                logger.info("Class initialization complete");
-            } else {
-                logger.info("Classes already exist, skipping initialization");
-            }
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
 
-            // Create debug character if no characters exist
-            if (characterRepository.count() == 0) {
-                logger.info("Creating debug character...");
-                try {
-                    // Get the first available species, background, and class
-                    List<Species> speciesList = speciesRepository.findAll();
-                    List<Background> backgroundList = backgroundRepository.findAll();
-                    List<CharacterClass> classList = characterClassRepository.findAll();
-                    
-                    if (!speciesList.isEmpty() && !backgroundList.isEmpty() && !classList.isEmpty()) {
-                        Species debugSpecies = speciesList.get(0);
-                        Background debugBackground = backgroundList.get(0);
-                        CharacterClass debugClass = classList.get(0);
-                        
-                        Character debugCharacter = new Character();
-                        debugCharacter.setName("Tom(Debug Character)");
-                        debugCharacter.setSpecies(debugSpecies);
-                        debugCharacter.setBackground(debugBackground);
-                        debugCharacter.setCharacterClass(debugClass);
-                        debugCharacter.setLevel(3);
-                        debugCharacter.setTemporaryHp(0);
-                        debugCharacter.setCurrentHp(25);
-                        debugCharacter.setMaxHp(25);
-                        debugCharacter.setSpeed(30);
-                        debugCharacter.setStrength(16);
-                        debugCharacter.setDexterity(14);
-                        debugCharacter.setConstitution(15);
-                        debugCharacter.setIntelligence(12);
-                        debugCharacter.setWisdom(13);
-                        debugCharacter.setCharisma(10);
-                        
-                        // Set some debug skills
-                        String debugSkills = "[{\"name\":\"Athletics\",\"ability\":\"Strength\",\"proficiency\":\"proficient\",\"other\":0},{\"name\":\"Perception\",\"ability\":\"Wisdom\",\"proficiency\":\"proficient\",\"other\":0},{\"name\":\"Stealth\",\"ability\":\"Dexterity\",\"proficiency\":\"none\",\"other\":0}]";
-                        debugCharacter.setSkills(debugSkills);
-                        
-                        // Set some debug inventory
-                        String debugCoins = "{\"platinum\":0,\"gold\":150,\"electrum\":0,\"silver\":25,\"copper\":0}";
-                        debugCharacter.setCoins(debugCoins);
-                        
-                        String debugItems = "[{\"id\":\"1\",\"name\":\"Longsword\",\"description\":\"A well-crafted longsword\",\"quantity\":1,\"weight\":3.0},{\"id\":\"2\",\"name\":\"Healing Potion\",\"description\":\"Restores 2d4+2 hit points\",\"quantity\":3,\"weight\":0.5}]";
-                        debugCharacter.setItems(debugItems);
-                        
-                        Character savedDebugCharacter = characterRepository.save(debugCharacter);
-                        logger.info("Created debug character with ID: {}", savedDebugCharacter.getId());
-                    } else {
-                        logger.warn("Cannot create debug character: missing species, background, or class data");
-                    }
-                } catch (Exception e) {
-                    logger.error("Error creating debug character: {}", e.getMessage());
-                }
-            } else {
-                logger.info("Characters already exist, skipping debug character creation");
-            }
-        } catch (Exception e) {
-            logger.error("Error initializing data", e);
-        }
-    }
+    @Autowired
+    private CharacterAssembler characterAssembler;
+
+    @Autowired
+    private CharacterConflictService characterConflictService;
+
+    @Autowired
+    private CharacterPatchService characterPatchService;
+
+    @Autowired
+    private CharacterTransferService characterTransferService;
+
+    @Autowired
+    private CharacterEvents characterEvents;
+
+    @Autowired
+    private CharacterEventHub characterEventHub;
+
+    @Autowired
+    private CharacterWriteBuffer characterWriteBuffer;
+
+    @Autowired
+    private CharacterCache characterCache;
+
+    @Autowired
+    private CharacterQueryService characterQueryService;
+
+    @Autowired
+    private DiceRoller diceRoller;
 
+    @Autowired
+    private CharacterJsonValidator characterJsonValidator;
+
+    // Always a page of summaries, DEFAULT_PAGE_SIZE long unless a limit is given;
+    // full sheets are only served one at a time by GET /characters/{id}
     @GetMapping("/characters")
-    public List<Character> getAllCharacters() {
-        return characterRepository.findAll();
+    public ResponseEntity<?> getAllCharacters(@RequestParam(required = false) Long cursor,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String name,
+                                              @RequestParam(required = false) String classId,
+                                              @RequestParam(required = false) String speciesId,
+                                              @RequestParam(required = false) Integer minLevel,
+                                              @RequestParam(required = false) String sort) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            String message = "Limit must be between 1 and " + MAX_PAGE_SIZE;
+            logger.error(message);
+            return ResponseEntity.badRequest().body(message);
+        }
+        if (name != null && name.length() > MAX_NAME_FILTER_LENGTH) {
+            String message = "Name filter cannot be longer than " + MAX_NAME_FILTER_LENGTH + " characters";
+            logger.error(message);
+            return ResponseEntity.badRequest().body(message);
+        }
+        if (minLevel != null && (minLevel < 1 || minLevel > 20)) {
+            String message = "Minimum level must be between 1 and 20";
+            logger.error(message);
+            return ResponseEntity.badRequest().body(message);
+        }
+
+        try {
+            CharacterQueryService.Filter filter = new CharacterQueryService.Filter(
+                    name != null && !name.isBlank() ? name.trim() : null,
+                    classId != null ? catalogId(classId, "Class") : null,
+                    speciesId != null ? catalogId(speciesId, "Species") : null,
+                    minLevel);
+            CharacterQueryService.Sort order = sort != null ? CharacterQueryService.parseSort(sort) : CharacterQueryService.Sort.ID;
+            boolean descending = sort != null && sort.startsWith("-");
+            return ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(characterQueryService.find(filter, order, descending, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/species")
-    public ResponseEntity<?> getAllSpecies() {
+    public ResponseEntity<?> getAllSpecies(WebRequest webRequest) {
         try {
-            logger.info("Fetching all species with traits...");
-            List<Species> species = speciesRepository.findAllWithTraits();
-            logger.info("Found {} species", species.size());
-            return ResponseEntity.ok(species);
+            ReferenceCatalog.Snapshot catalog = referenceCatalog.getSnapshot();
+            if (webRequest.checkNotModified(catalogETag(catalog))) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(catalogETag(catalog))
+                    .cacheControl(CacheControl.noCache())
+                    .body(catalog.getSpeciesJson());
         } catch (Exception e) {
             logger.error("Error fetching species", e);
             return ResponseEntity.internalServerError().body("Error fetching species: " + e.getMessage());
@@ -170,12 +170,17 @@ public class CharacterController {
     }
 
     @GetMapping("/backgrounds")
-    public ResponseEntity<?> getAllBackgrounds() {
+    public ResponseEntity<?> getAllBackgrounds(WebRequest webRequest) {
         try {
-            logger.info("Fetching all backgrounds with features...");
-            List<Background> backgrounds = backgroundRepository.findAllWithFeatures();
-            logger.info("Found {} backgrounds", backgrounds.size());
-            return ResponseEntity.ok(backgrounds);
+            ReferenceCatalog.Snapshot catalog = referenceCatalog.getSnapshot();
+            if (webRequest.checkNotModified(catalogETag(catalog))) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(catalogETag(catalog))
+                    .cacheControl(CacheControl.noCache())
+                    .body(catalog.getBackgroundsJson());
         } catch (Exception e) {
             logger.error("Error fetching backgrounds", e);
             return ResponseEntity.internalServerError().body("Error fetching backgrounds: " + e.getMessage());
@@ -183,211 +188,424 @@ public class CharacterController {
     }
 
     @GetMapping("/classes")
-    public ResponseEntity<?> getAllClasses() {
+    public ResponseEntity<?> getAllClasses(WebRequest webRequest) {
         try {
-            logger.info("Fetching all classes with features...");
-            List<CharacterClass> classes = characterClassRepository.findAllWithFeatures();
-            logger.info("Found {} classes", classes.size());
-            return ResponseEntity.ok(classes);
+            ReferenceCatalog.Snapshot catalog = referenceCatalog.getSnapshot();
+            if (webRequest.checkNotModified(catalogETag(catalog))) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(catalogETag(catalog))
+                    .cacheControl(CacheControl.noCache())
+                    .body(catalog.getClassesJson());
         } catch (Exception e) {
             logger.error("Error fetching classes", e);
             return ResponseEntity.internalServerError().body("Error fetching classes: " + e.getMessage());
         }
     }
 
+    // If-Match takes precedence over a "version" field in the request body
+    private Long expectedVersion(Long id, String ifMatch, Map<String, String> request) {
+        if (ifMatch != null) {
+            return characterAssembler.versionFromETag(id, ifMatch);
+        }
+        String version = request != null ? request.get("version") : null;
+        if (version == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(version.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid version format");
+        }
+    }
+
+    // The row a PUT starts from, from the sheet cache. A client that has already seen a
+    // newer version was served after a write on another instance, so the row is reloaded
+    private Optional<Character> currentCharacter(Long id, Long expectedVersion) {
+        Optional<Character> current = characterCache.findCharacter(id);
+        if (current.isPresent() && expectedVersion != null && expectedVersion > current.get().getVersion()) {
+            characterCache.invalidate(id);
+            current = characterCache.findCharacter(id);
+        }
+        return current;
+    }
+
+    // Cached rows are shared between requests, so a PUT edits a copy
+    private static Character editableCopy(Character character) {
+        Character copy = new Character();
+        BeanUtils.copyProperties(character, copy);
+        return copy;
+    }
+
+    // Writes the columns the edited copy changed. With If-Match or a version field they are
+    // written only if the row is still at the version it was copied from; if it is not, the
+    // cached row is dropped so that the client's retry starts from the current one. Without
+    // either, the PUT overwrites the row as it did before versioning and never conflicts
+    private boolean save(Character current, Character edited, Long expectedVersion) {
+        boolean checkVersion = expectedVersion != null;
+        if (characterPatchService.update(current, edited, checkVersion)) {
+            return true;
+        }
+        if (checkVersion) {
+            logger.warn("Concurrent update of character {}", current.getId());
+        }
+        characterCache.invalidate(current.getId());
+        return false;
+    }
+
+    // A conditional write that matched no row either lost a race or targeted a missing
+    // character or item; only the former is a conflict
+    private ResponseEntity<?> conflict(Optional<CharacterConflict> conflict) {
+        return conflict
+                .filter(body -> !body.getCurrentVersion().equals(body.getExpectedVersion()))
+                .<ResponseEntity<?>>map(body -> ResponseEntity.status(HttpStatus.CONFLICT).body(body))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Weak, like the character tags, so Tomcat still compresses the response
+    private static String catalogETag(ReferenceCatalog.Snapshot catalog) {
+        return "W/\"" + catalog.getVersion() + "\"";
+    }
+
     @PostMapping("/characters")
-    public ResponseEntity<?> createCharacter(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> createCharacter(@RequestBody Map<String, String> request,
+                                             @RequestParam(required = false) String expand) {
+        Set<CharacterAssembler.Reference> references;
         try {
-            logger.info("Received character creation request: {}", request);
-            
-            String name = request.get("name");
-            String speciesId = request.get("speciesId");
-            String backgroundId = request.get("backgroundId");
-            String classId = request.get("classId");
-            String strengthStr = request.get("strength");
-            String dexterityStr = request.get("dexterity");
-            String constitutionStr = request.get("constitution");
-            String intelligenceStr = request.get("intelligence");
-            String wisdomStr = request.get("wisdom");
-            String charismaStr = request.get("charisma");
+            references = characterAssembler.parseExpand(expand);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-            // Check for null values
-            if (name == null || name.trim().isEmpty()) {
-                String message = "Character name cannot be empty";
-                logger.error(message);
-                return ResponseEntity.badRequest().body(message);
-            }
+        try {
+            logger.debug("Received character creation request: {}", request);
+            Character character = newCharacter(request);
+            Character savedCharacter = characterRepository.save(character);
+            logger.debug("Successfully created character: {}", savedCharacter);
+            return ResponseEntity.ok(characterAssembler.toJson(savedCharacter, references));
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            String message = "Error creating character: " + e.getMessage();
+            logger.error(message, e);
+            return ResponseEntity.internalServerError().body(message);
+        }
+    }
 
-            if (speciesId == null) {
-                String message = "Species ID cannot be null";
-                logger.error(message);
-                return ResponseEntity.badRequest().body(message);
-            }
+    // Creates up to MAX_BATCH_CREATE characters in one transaction. Every entry is
+    // validated first, so one invalid entry rejects the whole batch; the inserts are
+    // then sent as JDBC batches. Returns the created characters in request order.
+    @PostMapping("/characters/batch")
+    public ResponseEntity<?> createCharacters(@RequestBody List<Map<String, String>> requests,
+                                              @RequestParam(required = false) String expand) {
+        Set<CharacterAssembler.Reference> references;
+        try {
+            references = characterAssembler.parseExpand(expand);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_CREATE) {
+            String message = "Between 1 and " + MAX_BATCH_CREATE + " characters are required";
+            logger.error(message);
+            return ResponseEntity.badRequest().body(message);
+        }
 
-            if (backgroundId == null) {
-                String message = "Background ID cannot be null";
+        List<Character> characters = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                characters.add(newCharacter(requests.get(i)));
+            } catch (IllegalArgumentException e) {
+                String message = "Character " + i + ": " + e.getMessage();
                 logger.error(message);
                 return ResponseEntity.badRequest().body(message);
             }
+        }
 
-            if (classId == null) {
-                String message = "Class ID cannot be null";
-                logger.error(message);
-                return ResponseEntity.badRequest().body(message);
-            }
+        try {
+            List<Character> savedCharacters = characterRepository.saveAll(characters);
+            logger.debug("Created {} characters", savedCharacters.size());
+            return ResponseEntity.ok(characterAssembler.toJson(savedCharacters, references));
+        } catch (Exception e) {
+            String message = "Error creating characters: " + e.getMessage();
+            logger.error(message, e);
+            return ResponseEntity.internalServerError().body(message);
+        }
+    }
 
-            // Look up species, background, and class
-            Species species = speciesRepository.findByIdWithTraits(UUID.fromString(speciesId));
-            if (species == null) {
-                String message = "Species not found with ID: " + speciesId;
-                logger.error(message);
-                return ResponseEntity.badRequest().body(message);
+    // Every character as newline-delimited JSON, streamed from a database cursor
+    @GetMapping("/characters/export")
+    public ResponseEntity<StreamingResponseBody> exportCharacters() {
+        StreamingResponseBody body = out -> {
+            try {
+                long count = characterTransferService.exportTo(out);
+                logger.info("Exported {} characters", count);
+            } catch (IOException | RuntimeException e) {
+                // The status is already sent, the client sees a truncated stream
+                logger.error("Error exporting characters", e);
+                throw e;
             }
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"characters.ndjson\"")
+                .body(body);
+    }
 
-            Background background = backgroundRepository.findByIdWithFeatures(UUID.fromString(backgroundId));
-            if (background == null) {
-                String message = "Background not found with ID: " + backgroundId;
-                logger.error(message);
-                return ResponseEntity.badRequest().body(message);
-            }
+    // Creates a character for every valid NDJSON line of the request body and
+    // reports the lines that were rejected
+    @PostMapping("/characters/import")
+    public ResponseEntity<?> importCharacters(InputStream body) {
+        try {
+            ImportResult result = characterTransferService.importFrom(body);
+            logger.info("Imported {} characters, {} lines rejected", result.getImported(), result.getFailed());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            String message = "Error importing characters: " + e.getMessage();
+            logger.error(message, e);
+            return ResponseEntity.internalServerError().body(message);
+        }
+    }
 
-            CharacterClass characterClass = characterClassRepository.findByIdWithFeatures(UUID.fromString(classId));
-            if (characterClass == null) {
-                String message = "Class not found with ID: " + classId;
-                logger.error(message);
-                return ResponseEntity.badRequest().body(message);
-            }
+    /**
+     * Builds an unsaved character from a create request.
+     *
+     * @throws IllegalArgumentException if a required value is missing or a value is invalid
+     */
+    private Character newCharacter(Map<String, String> request) {
+        String name = request.get("name");
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Character name cannot be empty");
+        }
+        UUID speciesId = catalogId(request.get("speciesId"), "Species");
+        UUID backgroundId = catalogId(request.get("backgroundId"), "Background");
+        UUID classId = catalogId(request.get("classId"), "Class");
 
-            // Create new character
-            Character character = new Character();
-            character.setName(name);
-            character.setSpecies(species);
-            character.setBackground(background);
-            character.setCharacterClass(characterClass);
+        ReferenceCatalog.Snapshot catalog = referenceCatalog.getSnapshot();
+        if (!catalog.getSpecies().containsKey(speciesId)) {
+            throw new IllegalArgumentException("Species not found with ID: " + speciesId);
+        }
+        if (!catalog.getBackgrounds().containsKey(backgroundId)) {
+            throw new IllegalArgumentException("Background not found with ID: " + backgroundId);
+        }
+        if (!catalog.getClasses().containsKey(classId)) {
+            throw new IllegalArgumentException("Class not found with ID: " + classId);
+        }
 
-            // Handle ability scores
-            if (strengthStr != null) {
-                try {
-                    int strength = Integer.parseInt(strengthStr);
-                    if (strength < 0) {
-                        String message = "Strength cannot be negative";
-                        logger.error(message);
-                        return ResponseEntity.badRequest().body(message);
-                    }
-                    character.setStrength(strength);
-                } catch (NumberFormatException e) {
-                    String message = "Invalid strength format";
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
-                }
-            }
+        Character character = new Character();
+        character.setName(name);
+        character.setSpeciesId(speciesId);
+        character.setBackgroundId(backgroundId);
+        character.setClassId(classId);
+        setAbilityScore(request.get("strength"), "Strength", character::setStrength);
+        setAbilityScore(request.get("dexterity"), "Dexterity", character::setDexterity);
+        setAbilityScore(request.get("constitution"), "Constitution", character::setConstitution);
+        setAbilityScore(request.get("intelligence"), "Intelligence", character::setIntelligence);
+        setAbilityScore(request.get("wisdom"), "Wisdom", character::setWisdom);
+        setAbilityScore(request.get("charisma"), "Charisma", character::setCharisma);
+        return character;
+    }
 
-            if (dexterityStr != null) {
-                try {
-                    int dexterity = Integer.parseInt(dexterityStr);
-                    if (dexterity < 0) {
-                        String message = "Dexterity cannot be negative";
-                        logger.error(message);
-                        return ResponseEntity.badRequest().body(message);
-                    }
-                    character.setDexterity(dexterity);
-                } catch (NumberFormatException e) {
-                    String message = "Invalid dexterity format";
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
-                }
-            }
+    private static UUID catalogId(String value, String label) {
+        if (value == null) {
+            throw new IllegalArgumentException(label + " ID cannot be null");
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid UUID format");
+        }
+    }
 
-            if (constitutionStr != null) {
-                try {
-                    int constitution = Integer.parseInt(constitutionStr);
-                    if (constitution < 0) {
-                        String message = "Constitution cannot be negative";
-                        logger.error(message);
-                        return ResponseEntity.badRequest().body(message);
-                    }
-                    character.setConstitution(constitution);
-                } catch (NumberFormatException e) {
-                    String message = "Invalid constitution format";
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
-                }
-            }
+    private static void setAbilityScore(String value, String label, IntConsumer setter) {
+        if (value == null) {
+            return;
+        }
+        int score;
+        try {
+            score = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + label.toLowerCase() + " format");
+        }
+        if (score < 0) {
+            throw new IllegalArgumentException(label + " cannot be negative");
+        }
+        setter.accept(score);
+    }
 
-            if (intelligenceStr != null) {
-                try {
-                    int intelligence = Integer.parseInt(intelligenceStr);
-                    if (intelligence < 0) {
-                        String message = "Intelligence cannot be negative";
-                        logger.error(message);
-                        return ResponseEntity.badRequest().body(message);
-                    }
-                    character.setIntelligence(intelligence);
-                } catch (NumberFormatException e) {
-                    String message = "Invalid intelligence format";
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
-                }
-            }
+    // Live sheet stream for party and DM views: "delta" events carry the changed fields
+    // of any listed character, "deleted" events a deletion, and "resync" asks the
+    // viewer to refetch because it fell too far behind. Spring only streams a
+    // ResponseEntity whose declared body type is an emitter, so errors are sent as
+    // a single "error" event on an already completed stream.
+    @GetMapping("/characters/events")
+    public ResponseEntity<SseEmitter> streamCharacterEvents(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_STREAM_CHARACTERS) {
+            String message = "Between 1 and " + MAX_STREAM_CHARACTERS + " character ids are required";
+            logger.error(message);
+            return ResponseEntity.badRequest().body(errorStream(message));
+        }
+        try {
+            return ResponseEntity.ok(characterEventHub.subscribe(ids));
+        } catch (IllegalStateException e) {
+            logger.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorStream(e.getMessage()));
+        }
+    }
 
-            if (wisdomStr != null) {
-                try {
-                    int wisdom = Integer.parseInt(wisdomStr);
-                    if (wisdom < 0) {
-                        String message = "Wisdom cannot be negative";
-                        logger.error(message);
-                        return ResponseEntity.badRequest().body(message);
-                    }
-                    character.setWisdom(wisdom);
-                } catch (NumberFormatException e) {
-                    String message = "Invalid wisdom format";
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
-                }
+    private static SseEmitter errorStream(String message) {
+        SseEmitter emitter = new SseEmitter();
+        try {
+            emitter.send(SseEmitter.event().name("error").data(message));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @GetMapping("/characters/holding")
+    public List<CharacterSummary> getCharactersHoldingItem(@RequestParam String item) {
+        return summariesFor(characterRepository.findIdsHoldingItem(item));
+    }
+
+    @GetMapping("/characters/with-spell")
+    public List<CharacterSummary> getCharactersWithSpellPrepared(@RequestParam String spell) {
+        return summariesFor(characterRepository.findIdsWithSpellPrepared(spell));
+    }
+
+    private List<CharacterSummary> summariesFor(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : characterRepository.findSummariesByIdIn(ids);
+    }
+
+    @GetMapping("/characters/{id}")
+    public ResponseEntity<?> getCharacterById(@PathVariable Long id,
+                                              @RequestParam(required = false) String expand,
+                                              WebRequest webRequest) {
+        Set<CharacterAssembler.Reference> references;
+        try {
+            references = characterAssembler.parseExpand(expand);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        characterWriteBuffer.flush(id);
+
+        // Revalidation only needs the version; the sheet is loaded when the tag is stale
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = characterCache.findVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
             }
+            if (webRequest.checkNotModified(characterAssembler.eTag(id, version.get(), references))) {
+                // checkNotModified has already set the 304 status and headers
+                return null;
+            }
+        }
 
-            if (charismaStr != null) {
-                try {
-                    int charisma = Integer.parseInt(charismaStr);
-                    if (charisma < 0) {
-                        String message = "Charisma cannot be negative";
-                        logger.error(message);
-                        return ResponseEntity.badRequest().body(message);
-                    }
-                    character.setCharisma(charisma);
-                } catch (NumberFormatException e) {
-                    String message = "Invalid charisma format";
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
-                }
+        return characterCache.find(id, references)
+                .<ResponseEntity<?>>map(sheet -> ResponseEntity.ok()
+                        .eTag(sheet.getETag())
+                        .cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(sheet.getJson()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Proficiency, skill totals, passives, attack bonuses and spell DC as the sheet shows them
+    @GetMapping("/characters/{id}/derived")
+    public ResponseEntity<?> getDerivedStats(@PathVariable Long id, WebRequest webRequest) {
+        characterWriteBuffer.flush(id);
+
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = characterCache.findVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
             }
-            
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully created character: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
-        } catch (IllegalArgumentException e) {
-            String message = "Invalid UUID format";
-            logger.error(message, e);
+            if (webRequest.checkNotModified(characterAssembler.derivedETag(id, version.get()))) {
+                return null;
+            }
+        }
+
+        return characterCache.findDerived(id)
+                .<ResponseEntity<?>>map(sheet -> ResponseEntity.ok()
+                        .eTag(sheet.getETag())
+                        .cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(sheet.getJson()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Body: expression such as "2d6+STR+3" or "2d20kh1+DEX+PB", optional label and times (1-100)
+    @PostMapping("/characters/{id}/roll")
+    public ResponseEntity<?> rollDice(@PathVariable Long id, @RequestBody Map<String, String> request) {
+        String label = request.get("label");
+        if (label != null && label.length() > MAX_ROLL_LABEL_LENGTH) {
+            String message = "Roll label cannot be longer than " + MAX_ROLL_LABEL_LENGTH + " characters";
+            logger.error(message);
             return ResponseEntity.badRequest().body(message);
-        } catch (Exception e) {
-            String message = "Error creating character: " + e.getMessage();
-            logger.error(message, e);
-            return ResponseEntity.internalServerError().body(message);
+        }
+        int times;
+        try {
+            times = request.get("times") != null ? Integer.parseInt(request.get("times")) : 1;
+        } catch (NumberFormatException e) {
+            times = 0;
+        }
+        if (times < 1 || times > DiceRoller.MAX_TIMES) {
+            String message = "Times must be between 1 and " + DiceRoller.MAX_TIMES;
+            logger.error(message);
+            return ResponseEntity.badRequest().body(message);
+        }
+
+        try {
+            characterWriteBuffer.flush(id);
+            return diceRoller.roll(id, request.get("expression"), label, times)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
-    @GetMapping("/characters/{id}")
-    public ResponseEntity<Character> getCharacterById(@PathVariable Long id) {
-        return characterRepository.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    // Latest rolls of the character on this instance, newest first
+    @GetMapping("/characters/{id}/rolls")
+    public List<RollResult> getRollHistory(@PathVariable Long id) {
+        return diceRoller.history(id);
     }
 
     @PutMapping("/characters/{id}")
-    public ResponseEntity<?> updateCharacter(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> updateCharacter(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                             @RequestParam(required = false) String expand,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<CharacterAssembler.Reference> references;
+        Long expectedVersion;
         try {
-            Character character = characterRepository.findById(id)
+            references = characterAssembler.parseExpand(expand);
+            expectedVersion = expectedVersion(id, ifMatch, request);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // The version a failed write is reported against: the client's, or else the one loaded
+        Long checkedVersion = expectedVersion;
+        try {
+            characterWriteBuffer.flush(id);
+            Character current = currentCharacter(id, expectedVersion)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
+            if (checkedVersion == null) {
+                checkedVersion = current.getVersion();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return conflict(characterConflictService.describe(id, expectedVersion, request));
+            }
+            Character character = editableCopy(current);
 
             String name = request.get("name");
             String speciesId = request.get("speciesId");
@@ -434,19 +652,37 @@ public class CharacterController {
 
             // Handle inventory updates
             if (coins != null) {
+                try {
+                    characterJsonValidator.validate(CharacterField.COINS, coins);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
+                }
                 character.setCoins(coins);
-                logger.info("Updating character coins to: {}", coins);
+                logger.debug("Updating character coins to: {}", coins);
             }
 
             if (items != null) {
+                try {
+                    characterJsonValidator.validate(CharacterField.ITEMS, items);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
+                }
                 character.setItems(items);
-                logger.info("Updating character items to: {}", items);
+                logger.debug("Updating character items to: {}", items);
             }
 
             // Handle details updates
             if (details != null) {
+                try {
+                    characterJsonValidator.validate(CharacterField.DETAILS, details);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
+                }
                 character.setDetails(details);
-                logger.info("Updating character details to: {}", details);
+                logger.debug("Updating character details to: {}", details);
             }
 
             // Handle level update
@@ -459,7 +695,7 @@ public class CharacterController {
                         return ResponseEntity.badRequest().body(message);
                     }
                     character.setLevel(level);
-                    logger.info("Updating character level to: {}", level);
+                    logger.debug("Updating character level to: {}", level);
                 } catch (NumberFormatException e) {
                     String message = "Invalid level format";
                     logger.error(message, e);
@@ -477,7 +713,7 @@ public class CharacterController {
                         return ResponseEntity.badRequest().body(message);
                     }
                     character.setTemporaryHp(tempHp);
-                    logger.info("Updating character temporary HP to: {}", tempHp);
+                    logger.debug("Updating character temporary HP to: {}", tempHp);
                 } catch (NumberFormatException e) {
                     String message = "Invalid temporary HP format";
                     logger.error(message, e);
@@ -494,7 +730,7 @@ public class CharacterController {
                         return ResponseEntity.badRequest().body(message);
                     }
                     character.setCurrentHp(currentHp);
-                    logger.info("Updating character current HP to: {}", currentHp);
+                    logger.debug("Updating character current HP to: {}", currentHp);
                 } catch (NumberFormatException e) {
                     String message = "Invalid current HP format";
                     logger.error(message, e);
@@ -511,7 +747,7 @@ public class CharacterController {
                         return ResponseEntity.badRequest().body(message);
                     }
                     character.setMaxHp(maxHp);
-                    logger.info("Updating character maximum HP to: {}", maxHp);
+                    logger.debug("Updating character maximum HP to: {}", maxHp);
                 } catch (NumberFormatException e) {
                     String message = "Invalid maximum HP format";
                     logger.error(message, e);
@@ -528,7 +764,7 @@ public class CharacterController {
                         return ResponseEntity.badRequest().body(message);
                     }
                     character.setSpeed(speed);
-                    logger.info("Updating character speed to: {}", speed);
+                    logger.debug("Updating character speed to: {}", speed);
                 } catch (NumberFormatException e) {
                     String message = "Invalid speed format";
                     logger.error(message, e);
@@ -633,35 +869,37 @@ public class CharacterController {
                 }
             }
 
-            Species species = speciesRepository.findByIdWithTraits(UUID.fromString(speciesId));
-            if (species == null) {
+            ReferenceCatalog.Snapshot catalog = referenceCatalog.getSnapshot();
+            if (!catalog.getSpecies().containsKey(UUID.fromString(speciesId))) {
                 String message = "Species not found with ID: " + speciesId;
                 logger.error(message);
                 return ResponseEntity.badRequest().body(message);
             }
 
-            Background background = backgroundRepository.findByIdWithFeatures(UUID.fromString(backgroundId));
-            if (background == null) {
+            if (!catalog.getBackgrounds().containsKey(UUID.fromString(backgroundId))) {
                 String message = "Background not found with ID: " + backgroundId;
                 logger.error(message);
                 return ResponseEntity.badRequest().body(message);
             }
 
-            CharacterClass characterClass = characterClassRepository.findByIdWithFeatures(UUID.fromString(classId));
-            if (characterClass == null) {
+            if (!catalog.getClasses().containsKey(UUID.fromString(classId))) {
                 String message = "Class not found with ID: " + classId;
                 logger.error(message);
                 return ResponseEntity.badRequest().body(message);
             }
 
             character.setName(name);
-            character.setSpecies(species);
-            character.setBackground(background);
-            character.setCharacterClass(characterClass);
+            character.setSpeciesId(UUID.fromString(speciesId));
+            character.setBackgroundId(UUID.fromString(backgroundId));
+            character.setClassId(UUID.fromString(classId));
 
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully updated character: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
+            if (!save(current, character, expectedVersion)) {
+                return conflict(characterConflictService.describe(id, checkedVersion, request));
+            }
+            logger.debug("Successfully updated character: {}", character);
+            return ResponseEntity.ok()
+                    .eTag(characterAssembler.eTag(id, character.getVersion(), references))
+                    .body(characterAssembler.toJson(character, references));
         } catch (IllegalArgumentException e) {
             String message = "Invalid UUID format";
             logger.error(message, e);
@@ -672,50 +910,216 @@ public class CharacterController {
         }
     }
 
+    @PatchMapping("/characters/{id}")
+    public ResponseEntity<?> patchCharacter(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = expectedVersion(id, ifMatch, request);
+            Map<String, String> fields = new LinkedHashMap<>(request);
+            fields.remove("version");
+            Map<CharacterField, Object> changes = characterPatchService.parse(fields);
+            Map<String, Object> applied = new LinkedHashMap<>();
+            applied.put("id", id);
+            changes.forEach((field, value) -> applied.put(field.getProperty(), value));
+
+            // Buffered patches are written later, so a missing character cannot be reported here.
+            // Conditional patches bypass the buffer so the version can be checked now.
+            if (characterWriteBuffer.isEnabled() && expectedVersion == null) {
+                characterWriteBuffer.enqueue(id, changes);
+                return ResponseEntity.accepted().body(applied);
+            }
+
+            characterWriteBuffer.flush(id);
+            if (!characterPatchService.apply(id, changes, expectedVersion)) {
+                return expectedVersion == null
+                        ? ResponseEntity.notFound().build()
+                        : conflict(characterConflictService.describe(id, expectedVersion, fields));
+            }
+            logger.debug("Patched character {} fields {}", id, changes.keySet());
+            return ResponseEntity.ok(applied);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error patching character", e);
+            return ResponseEntity.internalServerError().body("Error patching character: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/characters/{id}/inventory")
-    public ResponseEntity<?> updateCharacterInventory(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> updateCharacterInventory(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                                      @RequestParam(required = false) String expand,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<CharacterAssembler.Reference> references;
+        Long expectedVersion;
         try {
-            Character character = characterRepository.findById(id)
+            references = characterAssembler.parseExpand(expand);
+            expectedVersion = expectedVersion(id, ifMatch, request);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // The version a failed write is reported against: the client's, or else the one loaded
+        Long checkedVersion = expectedVersion;
+        try {
+            characterWriteBuffer.flush(id);
+            Character current = currentCharacter(id, expectedVersion)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
+            if (checkedVersion == null) {
+                checkedVersion = current.getVersion();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return conflict(characterConflictService.describe(id, expectedVersion, request));
+            }
+            Character character = editableCopy(current);
 
             String coins = request.get("coins");
             String items = request.get("items");
 
             if (coins != null) {
+                try {
+                    characterJsonValidator.validate(CharacterField.COINS, coins);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
+                }
                 character.setCoins(coins);
-                logger.info("Updating character coins to: {}", coins);
+                logger.debug("Updating character coins to: {}", coins);
             }
 
             if (items != null) {
+                try {
+                    characterJsonValidator.validate(CharacterField.ITEMS, items);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
+                }
                 character.setItems(items);
-                logger.info("Updating character items to: {}", items);
+                logger.debug("Updating character items to: {}", items);
             }
 
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully updated character inventory: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
+            if (!save(current, character, expectedVersion)) {
+                return conflict(characterConflictService.describe(id, checkedVersion, request));
+            }
+            logger.debug("Successfully updated character inventory: {}", character);
+            return ResponseEntity.ok()
+                    .eTag(characterAssembler.eTag(id, character.getVersion(), references))
+                    .body(characterAssembler.toJson(character, references));
         } catch (Exception e) {
             logger.error("Error updating character inventory", e);
             return ResponseEntity.internalServerError().body("Error updating character inventory: " + e.getMessage());
         }
     }
 
+    @PutMapping("/characters/{id}/items/{itemId}")
+    public ResponseEntity<?> updateCharacterItem(@PathVariable Long id, @PathVariable String itemId, @RequestBody String item,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = expectedVersion(id, ifMatch, null);
+            characterWriteBuffer.flush(id);
+            if (!characterPatchService.updateItem(id, itemId, item, expectedVersion)) {
+                return expectedVersion == null
+                        ? ResponseEntity.notFound().build()
+                        : conflict(characterConflictService.describeItem(id, expectedVersion, itemId, item));
+            }
+            logger.debug("Updated item {} of character {}", itemId, id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error updating character item", e);
+            return ResponseEntity.internalServerError().body("Error updating character item: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/characters/{id}/coins/{coin}")
+    public ResponseEntity<?> updateCharacterCoin(@PathVariable Long id, @PathVariable String coin, @RequestBody Map<String, String> request,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = expectedVersion(id, ifMatch, request);
+            String amountStr = request.get("amount");
+            if (amountStr == null) {
+                String message = "Coin amount cannot be null";
+                logger.error(message);
+                return ResponseEntity.badRequest().body(message);
+            }
+
+            int amount;
+            try {
+                amount = Integer.parseInt(amountStr);
+            } catch (NumberFormatException e) {
+                String message = "Invalid coin amount format";
+                logger.error(message, e);
+                return ResponseEntity.badRequest().body(message);
+            }
+
+            characterWriteBuffer.flush(id);
+            if (!characterPatchService.updateCoin(id, coin, amount, expectedVersion)) {
+                return expectedVersion == null
+                        ? ResponseEntity.notFound().build()
+                        : conflict(characterConflictService.describeCoin(id, expectedVersion, coin, amount));
+            }
+            logger.debug("Updated {} coins of character {} to {}", coin, id, amount);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error updating character coins", e);
+            return ResponseEntity.internalServerError().body("Error updating character coins: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/characters/{id}/details")
-    public ResponseEntity<?> updateCharacterDetails(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> updateCharacterDetails(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                                    @RequestParam(required = false) String expand,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<CharacterAssembler.Reference> references;
+        Long expectedVersion;
         try {
-            Character character = characterRepository.findById(id)
+            references = characterAssembler.parseExpand(expand);
+            expectedVersion = expectedVersion(id, ifMatch, request);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // The version a failed write is reported against: the client's, or else the one loaded
+        Long checkedVersion = expectedVersion;
+        try {
+            characterWriteBuffer.flush(id);
+            Character current = currentCharacter(id, expectedVersion)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
+            if (checkedVersion == null) {
+                checkedVersion = current.getVersion();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return conflict(characterConflictService.describe(id, expectedVersion, request));
+            }
+            Character character = editableCopy(current);
 
             String details = request.get("details");
 
             if (details != null) {
+                try {
+                    characterJsonValidator.validate(CharacterField.DETAILS, details);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
+                }
                 character.setDetails(details);
-                logger.info("Updating character details to: {}", details);
+                logger.debug("Updating character details to: {}", details);
             }
 
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully updated character details: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
+            if (!save(current, character, expectedVersion)) {
+                return conflict(characterConflictService.describe(id, checkedVersion, request));
+            }
+            logger.debug("Successfully updated character details: {}", character);
+            return ResponseEntity.ok()
+                    .eTag(characterAssembler.eTag(id, character.getVersion(), references))
+                    .body(characterAssembler.toJson(character, references));
         } catch (Exception e) {
             logger.error("Error updating character details", e);
             return ResponseEntity.internalServerError().body("Error updating character details: " + e.getMessage());
@@ -723,33 +1127,53 @@ public class CharacterController {
     }
 
     @PutMapping("/characters/{id}/skills")
-    public ResponseEntity<?> updateCharacterSkills(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> updateCharacterSkills(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                                   @RequestParam(required = false) String expand,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<CharacterAssembler.Reference> references;
+        Long expectedVersion;
         try {
-            Character character = characterRepository.findById(id)
+            references = characterAssembler.parseExpand(expand);
+            expectedVersion = expectedVersion(id, ifMatch, request);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // The version a failed write is reported against: the client's, or else the one loaded
+        Long checkedVersion = expectedVersion;
+        try {
+            characterWriteBuffer.flush(id);
+            Character current = currentCharacter(id, expectedVersion)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
+            if (checkedVersion == null) {
+                checkedVersion = current.getVersion();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return conflict(characterConflictService.describe(id, expectedVersion, request));
+            }
+            Character character = editableCopy(current);
 
             String skills = request.get("skills");
 
             if (skills != null) {
                 try {
-                    logger.info("Received skills data: {}", skills);
-                    
-                    // Validate that skills is valid JSON
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    objectMapper.readTree(skills); // This will throw an exception if invalid JSON
-                    
-                    character.setSkills(skills);
-                    logger.info("Successfully updated character skills");
-                } catch (Exception e) {
-                    String message = "Invalid skills JSON format: " + e.getMessage();
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
+                    characterJsonValidator.validate(CharacterField.SKILLS, skills);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
                 }
+                character.setSkills(skills);
+                logger.debug("Updating character skills");
             }
 
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully updated character skills: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
+            if (!save(current, character, expectedVersion)) {
+                return conflict(characterConflictService.describe(id, checkedVersion, request));
+            }
+            logger.debug("Successfully updated character skills: {}", character);
+            return ResponseEntity.ok()
+                    .eTag(characterAssembler.eTag(id, character.getVersion(), references))
+                    .body(characterAssembler.toJson(character, references));
         } catch (Exception e) {
             logger.error("Error updating character skills", e);
             return ResponseEntity.internalServerError().body("Error updating character skills: " + e.getMessage());
@@ -757,34 +1181,53 @@ public class CharacterController {
     }
 
     @PutMapping("/characters/{id}/class-actions")
-    public ResponseEntity<?> updateCharacterClassActions(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> updateCharacterClassActions(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                                         @RequestParam(required = false) String expand,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<CharacterAssembler.Reference> references;
+        Long expectedVersion;
         try {
-            Character character = characterRepository.findById(id)
+            references = characterAssembler.parseExpand(expand);
+            expectedVersion = expectedVersion(id, ifMatch, request);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // The version a failed write is reported against: the client's, or else the one loaded
+        Long checkedVersion = expectedVersion;
+        try {
+            characterWriteBuffer.flush(id);
+            Character current = currentCharacter(id, expectedVersion)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
+            if (checkedVersion == null) {
+                checkedVersion = current.getVersion();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return conflict(characterConflictService.describe(id, expectedVersion, request));
+            }
+            Character character = editableCopy(current);
 
             String classActions = request.get("classActions");
 
             if (classActions != null) {
                 try {
-                    logger.info("Received class actions data: {}", classActions);
-                    
-                    // Validate that classActions is valid JSON
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    objectMapper.readTree(classActions); // This will throw an exception if invalid JSON
-                    
-                    character.setClassActions(classActions);
-                    logger.info("Successfully updated character class actions");
-                    
-                } catch (Exception e) {
-                    String message = "Invalid class actions JSON format: " + e.getMessage();
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
+                    characterJsonValidator.validate(CharacterField.CLASS_ACTIONS, classActions);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
                 }
+                character.setClassActions(classActions);
+                logger.debug("Updating character class actions");
             }
 
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully updated character class actions: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
+            if (!save(current, character, expectedVersion)) {
+                return conflict(characterConflictService.describe(id, checkedVersion, request));
+            }
+            logger.debug("Successfully updated character class actions: {}", character);
+            return ResponseEntity.ok()
+                    .eTag(characterAssembler.eTag(id, character.getVersion(), references))
+                    .body(characterAssembler.toJson(character, references));
         } catch (Exception e) {
             logger.error("Error updating character class actions", e);
             return ResponseEntity.internalServerError().body("Error updating character class actions: " + e.getMessage());
@@ -792,34 +1235,53 @@ public class CharacterController {
     }
 
     @PutMapping("/characters/{id}/spell-slots")
-    public ResponseEntity<?> updateCharacterSpellSlots(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> updateCharacterSpellSlots(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                                       @RequestParam(required = false) String expand,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<CharacterAssembler.Reference> references;
+        Long expectedVersion;
         try {
-            Character character = characterRepository.findById(id)
+            references = characterAssembler.parseExpand(expand);
+            expectedVersion = expectedVersion(id, ifMatch, request);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // The version a failed write is reported against: the client's, or else the one loaded
+        Long checkedVersion = expectedVersion;
+        try {
+            characterWriteBuffer.flush(id);
+            Character current = currentCharacter(id, expectedVersion)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
+            if (checkedVersion == null) {
+                checkedVersion = current.getVersion();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return conflict(characterConflictService.describe(id, expectedVersion, request));
+            }
+            Character character = editableCopy(current);
 
             String spellSlots = request.get("spellSlots");
 
             if (spellSlots != null) {
                 try {
-                    logger.info("Received spell slots data: {}", spellSlots);
-                    
-                    // Validate that spellSlots is valid JSON
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    objectMapper.readTree(spellSlots); // This will throw an exception if invalid JSON
-                    
-                    character.setSpellSlots(spellSlots);
-                    logger.info("Successfully updated character spell slots");
-                    
-                } catch (Exception e) {
-                    String message = "Invalid spell slots JSON format: " + e.getMessage();
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
+                    characterJsonValidator.validate(CharacterField.SPELL_SLOTS, spellSlots);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
                 }
+                character.setSpellSlots(spellSlots);
+                logger.debug("Updating character spell slots");
             }
 
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully updated character spell slots: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
+            if (!save(current, character, expectedVersion)) {
+                return conflict(characterConflictService.describe(id, checkedVersion, request));
+            }
+            logger.debug("Successfully updated character spell slots: {}", character);
+            return ResponseEntity.ok()
+                    .eTag(characterAssembler.eTag(id, character.getVersion(), references))
+                    .body(characterAssembler.toJson(character, references));
         } catch (Exception e) {
             logger.error("Error updating character spell slots", e);
             return ResponseEntity.internalServerError().body("Error updating character spell slots: " + e.getMessage());
@@ -827,34 +1289,53 @@ public class CharacterController {
     }
 
     @PutMapping("/characters/{id}/spells")
-    public ResponseEntity<?> updateCharacterSpells(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> updateCharacterSpells(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                                   @RequestParam(required = false) String expand,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<CharacterAssembler.Reference> references;
+        Long expectedVersion;
         try {
-            Character character = characterRepository.findById(id)
+            references = characterAssembler.parseExpand(expand);
+            expectedVersion = expectedVersion(id, ifMatch, request);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // The version a failed write is reported against: the client's, or else the one loaded
+        Long checkedVersion = expectedVersion;
+        try {
+            characterWriteBuffer.flush(id);
+            Character current = currentCharacter(id, expectedVersion)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
+            if (checkedVersion == null) {
+                checkedVersion = current.getVersion();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return conflict(characterConflictService.describe(id, expectedVersion, request));
+            }
+            Character character = editableCopy(current);
 
             String spells = request.get("spells");
 
             if (spells != null) {
                 try {
-                    logger.info("Received spells data: {}", spells);
-                    
-                    // Validate that spells is valid JSON
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    objectMapper.readTree(spells); // This will throw an exception if invalid JSON
-                    
-                    character.setSpells(spells);
-                    logger.info("Successfully updated character spells");
-                    
-                } catch (Exception e) {
-                    String message = "Invalid spells JSON format: " + e.getMessage();
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
+                    characterJsonValidator.validate(CharacterField.SPELLS, spells);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
                 }
+                character.setSpells(spells);
+                logger.debug("Updating character spells");
             }
 
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully updated character spells: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
+            if (!save(current, character, expectedVersion)) {
+                return conflict(characterConflictService.describe(id, checkedVersion, request));
+            }
+            logger.debug("Successfully updated character spells: {}", character);
+            return ResponseEntity.ok()
+                    .eTag(characterAssembler.eTag(id, character.getVersion(), references))
+                    .body(characterAssembler.toJson(character, references));
         } catch (Exception e) {
             logger.error("Error updating character spells", e);
             return ResponseEntity.internalServerError().body("Error updating character spells: " + e.getMessage());
@@ -862,34 +1343,53 @@ public class CharacterController {
     }
 
     @PutMapping("/characters/{id}/weapons")
-    public ResponseEntity<?> updateCharacterWeapons(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> updateCharacterWeapons(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                                    @RequestParam(required = false) String expand,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Set<CharacterAssembler.Reference> references;
+        Long expectedVersion;
         try {
-            Character character = characterRepository.findById(id)
+            references = characterAssembler.parseExpand(expand);
+            expectedVersion = expectedVersion(id, ifMatch, request);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // The version a failed write is reported against: the client's, or else the one loaded
+        Long checkedVersion = expectedVersion;
+        try {
+            characterWriteBuffer.flush(id);
+            Character current = currentCharacter(id, expectedVersion)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
+            if (checkedVersion == null) {
+                checkedVersion = current.getVersion();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return conflict(characterConflictService.describe(id, expectedVersion, request));
+            }
+            Character character = editableCopy(current);
 
             String weapons = request.get("weapons");
 
             if (weapons != null) {
                 try {
-                    logger.info("Received weapons data: {}", weapons);
-                    
-                    // Validate that weapons is valid JSON
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    objectMapper.readTree(weapons); // This will throw an exception if invalid JSON
-                    
-                    character.setWeapons(weapons);
-                    logger.info("Successfully updated character weapons");
-                    
-                } catch (Exception e) {
-                    String message = "Invalid weapons JSON format: " + e.getMessage();
-                    logger.error(message, e);
-                    return ResponseEntity.badRequest().body(message);
+                    characterJsonValidator.validate(CharacterField.WEAPONS, weapons);
+                } catch (IllegalArgumentException e) {
+                    logger.error(e.getMessage());
+                    return ResponseEntity.badRequest().body(e.getMessage());
                 }
+                character.setWeapons(weapons);
+                logger.debug("Updating character weapons");
             }
 
-            Character savedCharacter = characterRepository.save(character);
-            logger.info("Successfully updated character weapons: {}", savedCharacter);
-            return ResponseEntity.ok(savedCharacter);
+            if (!save(current, character, expectedVersion)) {
+                return conflict(characterConflictService.describe(id, checkedVersion, request));
+            }
+            logger.debug("Successfully updated character weapons: {}", character);
+            return ResponseEntity.ok()
+                    .eTag(characterAssembler.eTag(id, character.getVersion(), references))
+                    .body(characterAssembler.toJson(character, references));
         } catch (Exception e) {
             logger.error("Error updating character weapons", e);
             return ResponseEntity.internalServerError().body("Error updating character weapons: " + e.getMessage());
@@ -899,10 +1399,13 @@ public class CharacterController {
     @DeleteMapping("/characters/{id}")
     public ResponseEntity<?> deleteCharacter(@PathVariable Long id) {
         try {
+            characterWriteBuffer.discard(id);
             Character character = characterRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Character not found"));
 
             characterRepository.delete(character);
+            characterEvents.deleted(id);
+            diceRoller.forget(id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             logger.error("Error deleting character", e);
@@ -910,8 +1413,21 @@ public class CharacterController {
         }
     }
 
+    @GetMapping("/write-buffer/stats")
+    public WriteBufferStats getWriteBufferStats() {
+        return characterWriteBuffer.getStats();
+    }
+
     @PostMapping("/debug/character")
-    public ResponseEntity<?> createDebugCharacter() {
+    public ResponseEntity<?> createDebugCharacter(@RequestParam(required = false) String expand) {
+        Set<CharacterAssembler.Reference> references;
+        try {
+            references = characterAssembler.parseExpand(expand);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
         try {
             logger.info("Creating debug character on demand...");
             
@@ -930,38 +1446,12 @@ public class CharacterController {
             Background debugBackground = backgroundList.get(0);
             CharacterClass debugClass = classList.get(0);
             
-            Character debugCharacter = new Character();
-            debugCharacter.setName("Debug Character " + System.currentTimeMillis());
-            debugCharacter.setSpecies(debugSpecies);
-            debugCharacter.setBackground(debugBackground);
-            debugCharacter.setCharacterClass(debugClass);
-            debugCharacter.setLevel(3);
-            debugCharacter.setTemporaryHp(0);
-            debugCharacter.setCurrentHp(25);
-            debugCharacter.setMaxHp(25);
-            debugCharacter.setSpeed(30);
-            debugCharacter.setStrength(16);
-            debugCharacter.setDexterity(14);
-            debugCharacter.setConstitution(15);
-            debugCharacter.setIntelligence(12);
-            debugCharacter.setWisdom(13);
-            debugCharacter.setCharisma(10);
-            
-            // Set some debug skills
-            String debugSkills = "[{\"name\":\"Athletics\",\"ability\":\"Strength\",\"proficiency\":\"proficient\",\"other\":0},{\"name\":\"Perception\",\"ability\":\"Wisdom\",\"proficiency\":\"proficient\",\"other\":0},{\"name\":\"Stealth\",\"ability\":\"Dexterity\",\"proficiency\":\"none\",\"other\":0}]";
-            debugCharacter.setSkills(debugSkills);
-            
-            // Set some debug inventory
-            String debugCoins = "{\"platinum\":0,\"gold\":150,\"electrum\":0,\"silver\":25,\"copper\":0}";
-            debugCharacter.setCoins(debugCoins);
-            
-            String debugItems = "[{\"id\":\"1\",\"name\":\"Longsword\",\"description\":\"A well-crafted longsword\",\"quantity\":1,\"weight\":3.0},{\"id\":\"2\",\"name\":\"Healing Potion\",\"description\":\"Restores 2d4+2 hit points\",\"quantity\":3,\"weight\":0.5}]";
-            debugCharacter.setItems(debugItems);
-            
+            Character debugCharacter = DebugCharacter.create("Debug Character " + System.currentTimeMillis(),
+                    debugSpecies.getId(), debugBackground.getId(), debugClass.getId());
             Character savedDebugCharacter = characterRepository.save(debugCharacter);
             logger.info("Created debug character with ID: {}", savedDebugCharacter.getId());
             
-            return ResponseEntity.ok(savedDebugCharacter);
+            return ResponseEntity.ok(characterAssembler.toJson(savedDebugCharacter, references));
         } catch (Exception e) {
             logger.error("Error creating debug character", e);
             return ResponseEntity.internalServerError().body("Error creating debug character: " + e.getMessage());
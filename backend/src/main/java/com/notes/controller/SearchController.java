@@ -0,0 +1,54 @@
+package com.notes.controller;
+
+import com.notes.service.CatalogSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class SearchController {
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+    private static final int DEFAULT_RESULTS = 20;
+    private static final int MAX_RESULTS = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    // Rules text of species traits, background and class features, best match first
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(required = false) String q,
+                                    @RequestParam(required = false) Integer limit) {
+        if (q == null || q.isBlank()) {
+            String message = "Search query cannot be empty";
+            logger.error(message);
+            return ResponseEntity.badRequest().body(message);
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            String message = "Search query cannot be longer than " + MAX_QUERY_LENGTH + " characters";
+            logger.error(message);
+            return ResponseEntity.badRequest().body(message);
+        }
+        int results = limit != null ? limit : DEFAULT_RESULTS;
+        if (results < 1 || results > MAX_RESULTS) {
+            String message = "Limit must be between 1 and " + MAX_RESULTS;
+            logger.error(message);
+            return ResponseEntity.badRequest().body(message);
+        }
+
+        try {
+            return ResponseEntity.ok(catalogSearchIndex.search(q, results));
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.notes.dto;
+
+import lombok.Value;
+import java.util.Map;
+
+/**
+ * Body of a 409 response. {@code conflicts} holds the current value of each
+ * submitted field that differs from what the client sent, keyed by the same
+ * names the request used.
+ */
+@Value
+public class CharacterConflict {
+    Long id;
+    Long expectedVersion;
+    Long currentVersion;
+    Map<String, Object> conflicts;
+}
@@ -0,0 +1,17 @@
+package com.notes.dto;
+
+import lombok.Value;
+import java.util.Map;
+
+/**
+ * Field-level change to a character, pushed to live sheet subscribers. Keys use
+ * the sheet property names; single coins and items use "coins/gold" and
+ * "items/{itemId}". The version is null when the write did not report it, and
+ * changes is null when the character was deleted.
+ */
+@Value
+public class CharacterDelta {
+    Long id;
+    Long version;
+    Map<String, Object> changes;
+}
@@ -0,0 +1,12 @@
+package com.notes.dto;
+
+import lombok.Value;
+import java.util.List;
+
+@Value
+public class CharacterPage {
+    List<CharacterSummary> items;
+
+    // Id of the last item, to be passed back as the cursor; null on the last page
+    Long nextCursor;
+}
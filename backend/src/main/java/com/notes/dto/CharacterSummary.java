@@ -0,0 +1,20 @@
+package com.notes.dto;
+
+import lombok.Value;
+
+/**
+ * Narrow projection of a character used for list views. Built directly by JPQL
+ * so the species, background and class graphs are never loaded.
+ */
+@Value
+public class CharacterSummary {
+    Long id;
+    String name;
+    Integer level;
+    String className;
+    String speciesName;
+    String backgroundName;
+    Integer currentHp;
+    Integer maxHp;
+    Integer temporaryHp;
+}
@@ -0,0 +1,59 @@
+package com.notes.dto;
+
+import lombok.Value;
+import java.util.List;
+
+/**
+ * Numbers derived from a character's scores, level, class, skills and weapons,
+ * as shown on the sheet. Computed by DerivedStatsEngine.
+ */
+@Value
+public class DerivedSheet {
+    Long id;
+    Long version;
+    int level;
+    int proficiencyBonus;
+    int initiative;
+    List<Ability> abilities;
+    List<Skill> skills;
+    int passivePerception;
+    int passiveInsight;
+    int passiveInvestigation;
+    List<WeaponAttack> weapons;
+    // Null for classes without spellcasting
+    Spellcasting spellcasting;
+
+    @Value
+    public static class Ability {
+        String name;
+        int score;
+        int modifier;
+    }
+
+    @Value
+    public static class Skill {
+        String name;
+        String ability;
+        // none, proficient, expertise or jack-of-all-trades
+        String proficiency;
+        int total;
+        int passive;
+    }
+
+    @Value
+    public static class WeaponAttack {
+        String id;
+        String name;
+        int attackBonus;
+        int damageBonus;
+        String damageDice;
+        int critOn;
+    }
+
+    @Value
+    public static class Spellcasting {
+        String ability;
+        int saveDc;
+        int attackBonus;
+    }
+}
@@ -0,0 +1,22 @@
+package com.notes.dto;
+
+import lombok.Value;
+import java.util.List;
+
+/**
+ * Outcome of an NDJSON import. Only the first errors are listed; {@code failed}
+ * counts every rejected line.
+ */
+@Value
+public class ImportResult {
+    long imported;
+    long failed;
+    List<LineError> errors;
+
+    @Value
+    public static class LineError {
+        // 1-based line number in the uploaded stream
+        long line;
+        String message;
+    }
+}
@@ -0,0 +1,33 @@
+package com.notes.dto;
+
+import lombok.Value;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One POST /characters/{id}/roll: the expression rolled one or more times, as
+ * kept in the character's roll history.
+ */
+@Value
+public class RollResult {
+    Long characterId;
+    String expression;
+    String label;
+    List<Roll> rolls;
+    Instant rolledAt;
+
+    @Value
+    public static class Roll {
+        int total;
+        List<Term> terms;
+    }
+
+    @Value
+    public static class Term {
+        // Signed term as written, e.g. "+2d6" or "-STR"
+        String term;
+        // Each die rolled, in order; null for modifiers and numbers
+        int[] dice;
+        int value;
+    }
+}
@@ -0,0 +1,34 @@
+package com.notes.dto;
+
+import lombok.Value;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One catalog entry matching a rules search: a species, background or class, or
+ * one of their traits and features.
+ */
+@Value
+public class SearchHit {
+    // species, trait, background, backgroundFeature, class or classFeature
+    String kind;
+    UUID id;
+    // Species, background or class a trait or feature belongs to; null for the entries themselves
+    UUID parentId;
+    String parentName;
+    String title;
+    // Class level a class feature is gained at; null otherwise
+    Integer level;
+    String snippet;
+    List<Highlight> highlights;
+    double score;
+
+    /**
+     * A matched word in the snippet, as character offsets (end exclusive).
+     */
+    @Value
+    public static class Highlight {
+        int start;
+        int end;
+    }
+}
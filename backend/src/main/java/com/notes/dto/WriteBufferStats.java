@@ -0,0 +1,13 @@
+package com.notes.dto;
+
+import lombok.Value;
+
+@Value
+public class WriteBufferStats {
+    long writesReceived;
+    long flushes;
+    int pending;
+
+    // Client writes per UPDATE statement; 1.0 means nothing was coalesced
+    double coalesceRatio;
+}
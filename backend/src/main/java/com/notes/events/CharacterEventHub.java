@@ -0,0 +1,231 @@
+package com.notes.events;
+
+import com.notes.dto.CharacterDelta;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans character deltas out to Server-Sent Event subscribers. An idle subscriber
+ * is an open async request plus a small queue; no thread is held for it. Each
+ * delta is serialized once and shared by every subscriber of that character.
+ * Events are written by a small sender pool, so a slow client never blocks the
+ * writer that published the delta. A subscriber whose queue overflows loses its
+ * queued deltas and gets a single "resync" event telling it to refetch instead.
+ * Heartbeats keep proxies from closing idle streams and find dead connections.
+ */
+@Service
+public class CharacterEventHub {
+    private static final Logger logger = LoggerFactory.getLogger(CharacterEventHub.class);
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON).build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notes.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notes.events.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${notes.events.queue-size:64}")
+    private int queueSize;
+
+    @Value("${notes.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${notes.events.sender-threads:2}")
+    private int senderThreads;
+
+    private final Map<Long, Set<Subscriber>> byCharacter = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+    private ScheduledExecutorService heartbeat;
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger senderCount = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "character-events-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "character-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("notes.events.subscribers", subscribers, Set::size)
+                .description("Open live sheet streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("notes.events.delivered", delivered, AtomicLong::get)
+                .description("Events written to live sheet streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("notes.events.resyncs", resyncs, AtomicLong::get)
+                .description("Streams that overflowed and were told to refetch")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Opens a stream of deltas for the given characters.
+     *
+     * @throws IllegalStateException if the subscriber limit has been reached
+     */
+    public SseEmitter subscribe(Collection<Long> ids) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many live sheet subscribers");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), Set.copyOf(ids), queueSize);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        for (Long id : subscriber.ids) {
+            // compute() rather than computeIfAbsent().add(), so a concurrent remove()
+            // cannot drop the set between the lookup and the add
+            byCharacter.compute(id, (key, targets) -> {
+                Set<Subscriber> result = targets != null ? targets : ConcurrentHashMap.newKeySet();
+                result.add(subscriber);
+                return result;
+            });
+        }
+        // Sends the response headers right away, so clients know the stream is open
+        enqueue(subscriber, HEARTBEAT);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDelta(CharacterDelta delta) {
+        Set<Subscriber> targets = byCharacter.get(delta.getId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> event;
+        try {
+            event = SseEmitter.event()
+                    .name(delta.getChanges() != null ? "delta" : "deleted")
+                    .data(objectMapper.writeValueAsString(delta), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            logger.error("Error serializing delta for character {}", delta.getId(), e);
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (!subscriber.queue.offer(event)) {
+            // Dropping deltas would leave the viewer with a wrong sheet, so replace
+            // the backlog with one instruction to refetch
+            subscriber.queue.clear();
+            subscriber.queue.offer(RESYNC);
+            resyncs.incrementAndGet();
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+                if (event != HEARTBEAT) {
+                    delivered.incrementAndGet();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream already completed
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void sendHeartbeats() {
+        try {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue.isEmpty()) {
+                    enqueue(subscriber, HEARTBEAT);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error sending heartbeats", e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (Long id : subscriber.ids) {
+            byCharacter.computeIfPresent(id, (key, targets) -> {
+                targets.remove(subscriber);
+                return targets.isEmpty() ? null : targets;
+            });
+        }
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final Set<Long> ids;
+        final BlockingQueue<Set<DataWithMediaType>> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<Long> ids, int queueSize) {
+            this.emitter = emitter;
+            this.ids = ids;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
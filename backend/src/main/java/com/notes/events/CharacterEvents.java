@@ -0,0 +1,58 @@
+package com.notes.events;
+
+import com.notes.dto.CharacterDelta;
+import com.notes.model.Character;
+import com.notes.model.CharacterField;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Publishes character deltas as application events. Inside a transaction the hub
+ * receives them after commit, so subscribers never see a write that rolled back.
+ */
+@Component
+public class CharacterEvents {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Current values of every field a delta can report, for comparison after a write.
+     */
+    public Map<String, Object> capture(Character character) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("speciesId", character.getSpeciesId());
+        values.put("backgroundId", character.getBackgroundId());
+        values.put("classId", character.getClassId());
+        for (CharacterField field : CharacterField.values()) {
+            values.put(field.getProperty(), field.get(character));
+        }
+        return values;
+    }
+
+    /**
+     * Publishes the fields whose value differs from the captured one, if any.
+     */
+    public void changed(Map<String, Object> before, Character after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        capture(after).forEach((property, value) -> {
+            if (!Objects.equals(before.get(property), value)) {
+                changes.put(property, value);
+            }
+        });
+        if (!changes.isEmpty()) {
+            changed(after.getId(), after.getVersion(), changes);
+        }
+    }
+
+    public void changed(Long id, Long version, Map<String, Object> changes) {
+        eventPublisher.publishEvent(new CharacterDelta(id, version, changes));
+    }
+
+    public void deleted(Long id) {
+        eventPublisher.publishEvent(new CharacterDelta(id, null, null));
+    }
+}
@@ -0,0 +1,29 @@
+package com.notes.events;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers open-entity-manager-in-view for everything except the live sheet
+ * stream and the NDJSON export and import. Spring Boot's own registration
+ * (disabled with spring.jpa.open-in-view) covers every path, and would keep an
+ * EntityManager open for the whole life of each idle stream, or collect every
+ * imported character in one persistence context.
+ */
+@Configuration
+public class EventStreamConfiguration implements WebMvcConfigurer {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(
+                "/api/characters/events", "/api/characters/export", "/api/characters/import");
+    }
+}
@@ -0,0 +1,17 @@
+package com.notes.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class LoggingConfiguration implements WebMvcConfigurer {
+    @Value("${notes.logging.write-sample-rate:1.0}")
+    private double writeSampleRate;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WriteSummaryInterceptor(writeSampleRate)).addPathPatterns("/api/**");
+    }
+}
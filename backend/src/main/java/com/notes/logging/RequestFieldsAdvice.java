@@ -0,0 +1,40 @@
+package com.notes.logging;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers which fields a write request sent, so the request summary can list
+ * them without logging their values.
+ */
+@ControllerAdvice
+public class RequestFieldsAdvice extends RequestBodyAdviceAdapter {
+    static final String FIELDS_ATTRIBUTE = RequestFieldsAdvice.class.getName() + ".fields";
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return Map.class.isAssignableFrom(methodParameter.getParameterType());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            String fields = ((Map<?, ?>) body).keySet().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            attributes.setAttribute(FIELDS_ATTRIBUTE, fields, RequestAttributes.SCOPE_REQUEST);
+        }
+        return body;
+    }
+}
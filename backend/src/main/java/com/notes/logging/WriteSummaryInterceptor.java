@@ -0,0 +1,57 @@
+package com.notes.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs one key=value line per write request: endpoint, character id, the fields
+ * sent, status and duration. Successful writes are sampled at the configured
+ * rate; failed ones are always logged.
+ */
+public class WriteSummaryInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger("com.notes.writes");
+    private static final String START_ATTRIBUTE = WriteSummaryInterceptor.class.getName() + ".start";
+
+    private final double sampleRate;
+
+    public WriteSummaryInterceptor(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null || !logger.isInfoEnabled()) {
+            return;
+        }
+        boolean failed = response.getStatus() >= 400;
+        if (!failed && sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        long micros = (System.nanoTime() - (Long) start) / 1000;
+        Map<?, ?> variables = (Map<?, ?>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        logger.info("method={} uri={} id={} fields={} status={} durationUs={}",
+                request.getMethod(),
+                request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                variables != null ? variables.get("id") : null,
+                request.getAttribute(RequestFieldsAdvice.FIELDS_ATTRIBUTE),
+                response.getStatus(),
+                micros);
+    }
+}
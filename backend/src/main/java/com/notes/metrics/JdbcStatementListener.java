@@ -0,0 +1,54 @@
+package com.notes.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener that adds every JDBC statement and batch execution,
+ * and the time spent in it, to the counters of the current thread. Registered
+ * through hibernate.session.events.auto, so Hibernate creates one per session.
+ */
+public class JdbcStatementListener extends BaseSessionEventListener {
+    private static final ThreadLocal<long[]> CURRENT = ThreadLocal.withInitial(() -> new long[2]);
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        long[] counters = CURRENT.get();
+        counters[0]++;
+        counters[1] += System.nanoTime() - executeStart;
+    }
+
+    static void reset() {
+        long[] counters = CURRENT.get();
+        counters[0] = 0;
+        counters[1] = 0;
+    }
+
+    static long statements() {
+        return CURRENT.get()[0];
+    }
+
+    static long nanos() {
+        return CURRENT.get()[1];
+    }
+}
@@ -0,0 +1,55 @@
+package com.notes.metrics;
+
+import com.notes.model.CharacterField;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records the size of every JSON column value that arrives in a request body,
+ * tagged by column, so the heaviest sheet tabs show up in the metrics.
+ */
+@ControllerAdvice
+public class PayloadSizeAdvice extends RequestBodyAdviceAdapter {
+    private final Map<String, DistributionSummary> sizes = new HashMap<>();
+
+    @Autowired
+    public PayloadSizeAdvice(MeterRegistry meterRegistry) {
+        for (CharacterField field : CharacterField.values()) {
+            if (field.getKind() == CharacterField.Kind.JSON) {
+                sizes.put(field.getProperty(), DistributionSummary.builder("notes.character.json.size")
+                        .description("Length of JSON column values received")
+                        .baseUnit("characters")
+                        .tag("field", field.getProperty())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return Map.class.isAssignableFrom(methodParameter.getParameterType());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        ((Map<?, ?>) body).forEach((key, value) -> {
+            DistributionSummary size = sizes.get(key);
+            if (size != null && value instanceof String json) {
+                size.record(json.length());
+            }
+        });
+        return body;
+    }
+}
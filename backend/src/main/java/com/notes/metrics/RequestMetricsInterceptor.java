@@ -0,0 +1,54 @@
+package com.notes.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, per handler pattern, how many SQL statements a request ran and how long
+ * they took, and counts requests rejected with 400 by the controller's validation.
+ * Request latency itself is covered by Spring's http.server.requests timer.
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        JdbcStatementListener.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("notes.db.statements")
+                .description("SQL statements executed per request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(JdbcStatementListener.statements());
+        Timer.builder("notes.db.time")
+                .description("Time spent executing SQL per request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(JdbcStatementListener.nanos(), TimeUnit.NANOSECONDS);
+
+        if (response.getStatus() == HttpStatus.BAD_REQUEST.value()) {
+            meterRegistry.counter("notes.validation.failures", "method", method, "uri", uri).increment();
+        }
+    }
+}
@@ -1,41 +1,72 @@
 package com.notes.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Data
 public class Character {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: one nextval reserves 50 ids, so inserts can be batched
+    // (IDENTITY would need each row's generated key back before the next insert)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "character_id_seq")
+    @SequenceGenerator(name = "character_id_seq", sequenceName = "character_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
     private String name;
 
-    @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "species_id")
+    // Catalog references are stored as plain ids; the response assembler attaches the
+    // catalog entries from memory. The associations are only kept for JPQL joins.
+    @Column(name = "species_id")
     @NotNull
-    private Species species;
+    private UUID speciesId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "background_id")
+    @Column(name = "background_id")
     @NotNull
-    private Background background;
+    private UUID backgroundId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "class_id")
+    @Column(name = "class_id")
     @NotNull
+    private UUID classId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "species_id", insertable = false, updatable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Species species;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "background_id", insertable = false, updatable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Background background;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "class_id", insertable = false, updatable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private CharacterClass characterClass;
 
     @Column(nullable = false)
@@ -71,32 +102,45 @@ public class Character {
     @Column(nullable = false)
     private Integer charisma = 0;
 
-    @Column(columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     private String coins = "{\"platinum\":0,\"gold\":0,\"electrum\":0,\"silver\":0,\"copper\":0}";
 
-    @Column(columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     private String items = "[]";
 
-    @Column(columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     private String details = "{\"background\":\"\",\"classFeatures\":\"\",\"speciesFeatures\":\"\",\"otherFeatures\":\"\",\"notes\":\"\",\"connections\":\"\"}";
 
-    @Column(columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     private String skills = "[]";
 
-    @Column(columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     private String classActions = "[]";
 
-    @Column(columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     private String spellSlots = "[]";
 
-    @Column(columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     private String spells = "[]";
 
-    @Column(columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     private String weapons = "[]";
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Incremented on every write, including the bulk and native updates
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Add methods to calculate ability score modifiers
     public Integer getStrengthModifier() {
         return calculateModifier(strength);
@@ -0,0 +1,162 @@
+package com.notes.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Scalar columns of {@link Character} that can be written individually, keyed by
+ * the same names the API uses in request bodies.
+ */
+public enum CharacterField {
+    NAME("name", "Character name", Kind.TEXT, 0, 0),
+    LEVEL("level", "Level", Kind.INTEGER, 1, 20),
+    TEMPORARY_HP("temporaryHp", "Temporary HP", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    CURRENT_HP("currentHp", "Current HP", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    MAX_HP("maxHp", "Maximum HP", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    SPEED("speed", "Speed", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    STRENGTH("strength", "Strength", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    DEXTERITY("dexterity", "Dexterity", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    CONSTITUTION("constitution", "Constitution", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    INTELLIGENCE("intelligence", "Intelligence", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    WISDOM("wisdom", "Wisdom", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    CHARISMA("charisma", "Charisma", Kind.INTEGER, 0, Integer.MAX_VALUE),
+    COINS("coins", "Coins", Kind.JSON, 0, 0),
+    ITEMS("items", "Items", Kind.JSON, 0, 0),
+    DETAILS("details", "Details", Kind.JSON, 0, 0),
+    SKILLS("skills", "Skills", Kind.JSON, 0, 0),
+    CLASS_ACTIONS("classActions", "Class actions", Kind.JSON, 0, 0),
+    SPELL_SLOTS("spellSlots", "Spell slots", Kind.JSON, 0, 0),
+    SPELLS("spells", "Spells", Kind.JSON, 0, 0),
+    WEAPONS("weapons", "Weapons", Kind.JSON, 0, 0);
+
+    public enum Kind { TEXT, INTEGER, JSON }
+
+    private static final Map<String, CharacterField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(CharacterField::getProperty, Function.identity()));
+
+    private final String property;
+    private final String label;
+    private final Kind kind;
+    private final int min;
+    private final int max;
+
+    CharacterField(String property, String label, Kind kind, int min, int max) {
+        this.property = property;
+        this.label = label;
+        this.kind = kind;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static boolean isProperty(String property) {
+        return BY_PROPERTY.containsKey(property);
+    }
+
+    public static CharacterField fromProperty(String property) {
+        CharacterField field = BY_PROPERTY.get(property);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown character field: " + property);
+        }
+        return field;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Object get(Character character) {
+        return switch (this) {
+            case NAME -> character.getName();
+            case LEVEL -> character.getLevel();
+            case TEMPORARY_HP -> character.getTemporaryHp();
+            case CURRENT_HP -> character.getCurrentHp();
+            case MAX_HP -> character.getMaxHp();
+            case SPEED -> character.getSpeed();
+            case STRENGTH -> character.getStrength();
+            case DEXTERITY -> character.getDexterity();
+            case CONSTITUTION -> character.getConstitution();
+            case INTELLIGENCE -> character.getIntelligence();
+            case WISDOM -> character.getWisdom();
+            case CHARISMA -> character.getCharisma();
+            case COINS -> character.getCoins();
+            case ITEMS -> character.getItems();
+            case DETAILS -> character.getDetails();
+            case SKILLS -> character.getSkills();
+            case CLASS_ACTIONS -> character.getClassActions();
+            case SPELL_SLOTS -> character.getSpellSlots();
+            case SPELLS -> character.getSpells();
+            case WEAPONS -> character.getWeapons();
+        };
+    }
+
+    /**
+     * @param value a value returned by {@link #parse}
+     */
+    public void set(Character character, Object value) {
+        switch (this) {
+            case NAME -> character.setName((String) value);
+            case LEVEL -> character.setLevel((Integer) value);
+            case TEMPORARY_HP -> character.setTemporaryHp((Integer) value);
+            case CURRENT_HP -> character.setCurrentHp((Integer) value);
+            case MAX_HP -> character.setMaxHp((Integer) value);
+            case SPEED -> character.setSpeed((Integer) value);
+            case STRENGTH -> character.setStrength((Integer) value);
+            case DEXTERITY -> character.setDexterity((Integer) value);
+            case CONSTITUTION -> character.setConstitution((Integer) value);
+            case INTELLIGENCE -> character.setIntelligence((Integer) value);
+            case WISDOM -> character.setWisdom((Integer) value);
+            case CHARISMA -> character.setCharisma((Integer) value);
+            case COINS -> character.setCoins((String) value);
+            case ITEMS -> character.setItems((String) value);
+            case DETAILS -> character.setDetails((String) value);
+            case SKILLS -> character.setSkills((String) value);
+            case CLASS_ACTIONS -> character.setClassActions((String) value);
+            case SPELL_SLOTS -> character.setSpellSlots((String) value);
+            case SPELLS -> character.setSpells((String) value);
+            case WEAPONS -> character.setWeapons((String) value);
+        }
+    }
+
+    /**
+     * Converts a raw request value into the column value, applying the same
+     * checks the full update endpoint does. JSON fields are returned as-is and
+     * are validated separately against their schema.
+     */
+    public Object parse(String raw) {
+        switch (kind) {
+            case INTEGER -> {
+                int value;
+                try {
+                    value = Integer.parseInt(raw.trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid format for " + label);
+                }
+                if (value < min || value > max) {
+                    throw new IllegalArgumentException(min == 0 && max == Integer.MAX_VALUE
+                            ? label + " cannot be negative"
+                            : label + " must be between " + min + " and " + max);
+                }
+                return value;
+            }
+            case TEXT -> {
+                if (raw.trim().isEmpty()) {
+                    throw new IllegalArgumentException(label + " cannot be empty");
+                }
+                return raw;
+            }
+            default -> {
+                return raw;
+            }
+        }
+    }
+}
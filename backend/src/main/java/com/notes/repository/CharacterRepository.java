@@ -1,7 +1,54 @@
 package com.notes.repository;
 
+import com.notes.dto.CharacterSummary;
 import com.notes.model.Character;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface CharacterRepository extends JpaRepository<Character, Long> {
-} 
\ No newline at end of file
+    @Query("SELECT new com.notes.dto.CharacterSummary(c.id, c.name, c.level, cc.name, s.name, b.name, c.currentHp, c.maxHp, c.temporaryHp) " +
+           "FROM Character c LEFT JOIN c.characterClass cc LEFT JOIN c.species s LEFT JOIN c.background b " +
+           "WHERE c.id IN :ids ORDER BY c.id")
+    List<CharacterSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.version FROM Character c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Containment queries below are answered by the GIN indexes from V2__indexes.sql
+
+    @Query(value = "SELECT id FROM character WHERE items @> jsonb_build_array(jsonb_build_object('name', CAST(:name AS text)))",
+           nativeQuery = true)
+    List<Long> findIdsHoldingItem(@Param("name") String name);
+
+    @Query(value = "SELECT id FROM character " +
+                   "WHERE spells @> jsonb_build_array(jsonb_build_object('name', CAST(:name AS text), 'prepared', 'Yes')) " +
+                   "OR spells @> jsonb_build_array(jsonb_build_object('name', CAST(:name AS text), 'prepared', 'Always'))",
+           nativeQuery = true)
+    List<Long> findIdsWithSpellPrepared(@Param("name") String name);
+
+    // The native updates below bump the @Version column themselves, since Hibernate
+    // only does that for entity writes. A null version skips the optimistic check.
+
+    // Replaces one element of the items array in place, matched by its "id" key
+    @Modifying
+    @Query(value = "UPDATE character SET version = version + 1, items = jsonb_set(items, " +
+                   "ARRAY[(SELECT CAST(e.idx - 1 AS text) FROM jsonb_array_elements(items) WITH ORDINALITY e(item, idx) " +
+                   "WHERE e.item ->> 'id' = :itemId LIMIT 1)], CAST(:item AS jsonb)) " +
+                   "WHERE id = :id AND items @> jsonb_build_array(jsonb_build_object('id', CAST(:itemId AS text))) " +
+                   "AND (CAST(:version AS bigint) IS NULL OR version = CAST(:version AS bigint))",
+           nativeQuery = true)
+    int updateItem(@Param("id") Long id, @Param("itemId") String itemId, @Param("item") String item,
+                   @Param("version") Long version);
+
+    @Modifying
+    @Query(value = "UPDATE character SET version = version + 1, coins = jsonb_set(coins, ARRAY[CAST(:coin AS text)], to_jsonb(:amount)) " +
+                   "WHERE id = :id AND (CAST(:version AS bigint) IS NULL OR version = CAST(:version AS bigint))",
+           nativeQuery = true)
+    int updateCoin(@Param("id") Long id, @Param("coin") String coin, @Param("amount") int amount,
+                   @Param("version") Long version);
+}
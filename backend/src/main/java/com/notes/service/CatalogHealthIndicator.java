@@ -0,0 +1,25 @@
+package com.notes.service;
+
+import com.notes.config.CatalogVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Part of the readiness group: out of service while the catalog is being seeded
+@Component
+public class CatalogHealthIndicator implements HealthIndicator {
+    @Autowired
+    private CatalogSeeder catalogSeeder;
+
+    @Override
+    public Health health() {
+        if (catalogSeeder.getFailure() != null) {
+            return Health.down().withDetail("error", catalogSeeder.getFailure()).build();
+        }
+        if (!catalogSeeder.isSeeded()) {
+            return Health.outOfService().build();
+        }
+        return Health.up().withDetail("version", CatalogVersion.current()).build();
+    }
+}
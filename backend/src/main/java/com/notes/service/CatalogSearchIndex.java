@@ -0,0 +1,338 @@
+package com.notes.service;
+
+import com.notes.config.BackgroundConfig;
+import com.notes.config.ClassConfig;
+import com.notes.config.SpeciesConfig;
+import com.notes.dto.SearchHit;
+import com.notes.model.Background;
+import com.notes.model.BackgroundFeature;
+import com.notes.model.CharacterClass;
+import com.notes.model.ClassFeature;
+import com.notes.model.Species;
+import com.notes.model.Trait;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory inverted index over the rules text of the catalog: species,
+ * backgrounds and classes with their traits and features. It is built from the
+ * catalog definitions at startup, so a search never touches the database.
+ *
+ * <p>Entries are ranked with BM25, a title word counting as much as three
+ * description words. Every query word has to match an indexed word exactly or as
+ * a prefix. A word of four letters or more that matches neither way is taken as a
+ * typo instead and matches words within one edit, two from eight letters on.
+ * Prefix and fuzzy matches score lower than exact ones.
+ */
+@Service
+public class CatalogSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndex.class);
+    private static final int TITLE_WEIGHT = 3;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float FUZZY_FACTOR = 0.4f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_QUERY_WORDS = 10;
+    private static final int SNIPPET_LENGTH = 160;
+
+    private List<Entry> entries;
+    // Sorted, so the words sharing a prefix form one range
+    private String[] terms;
+    // Per term: the entries containing it, ascending, and the weighted count in each
+    private int[][] postingEntries;
+    private int[][] postingCounts;
+    private float averageLength;
+
+    @PostConstruct
+    public void build() {
+        long start = System.nanoTime();
+        List<Entry> entries = new ArrayList<>();
+        for (String name : SpeciesConfig.getAllSpeciesNames()) {
+            Species species = SpeciesConfig.createSpecies(name);
+            entries.add(new Entry("species", species.getId(), null, null, species.getName(), null, ""));
+            for (Trait trait : species.getTraits()) {
+                entries.add(new Entry("trait", trait.getId(), species.getId(), species.getName(),
+                        trait.getTitle(), null, trait.getDescription()));
+            }
+        }
+        for (String name : BackgroundConfig.getAllBackgroundNames()) {
+            Background background = BackgroundConfig.createBackground(name);
+            entries.add(new Entry("background", background.getId(), null, null, background.getName(), null,
+                    background.getDescription()));
+            for (BackgroundFeature feature : background.getFeatures()) {
+                entries.add(new Entry("backgroundFeature", feature.getId(), background.getId(), background.getName(),
+                        feature.getTitle(), null, feature.getDescription()));
+            }
+        }
+        for (String name : ClassConfig.getAllClassNames()) {
+            CharacterClass characterClass = ClassConfig.createClass(name);
+            entries.add(new Entry("class", characterClass.getId(), null, null, characterClass.getName(), null,
+                    characterClass.getDescription()));
+            for (ClassFeature feature : characterClass.getFeatures()) {
+                entries.add(new Entry("classFeature", feature.getId(), characterClass.getId(), characterClass.getName(),
+                        feature.getTitle(), feature.getLevel(), feature.getDescription()));
+            }
+        }
+
+        Map<String, Map<Integer, Integer>> postings = new TreeMap<>();
+        long totalLength = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            for (Token token : tokenize(entry.title)) {
+                postings.computeIfAbsent(token.term, term -> new LinkedHashMap<>()).merge(i, TITLE_WEIGHT, Integer::sum);
+                entry.length += TITLE_WEIGHT;
+            }
+            for (Token token : entry.tokens) {
+                postings.computeIfAbsent(token.term, term -> new LinkedHashMap<>()).merge(i, 1, Integer::sum);
+                entry.length += 1;
+            }
+            totalLength += entry.length;
+        }
+
+        terms = postings.keySet().toArray(new String[0]);
+        postingEntries = new int[terms.length][];
+        postingCounts = new int[terms.length][];
+        for (int t = 0; t < terms.length; t++) {
+            Map<Integer, Integer> posting = postings.get(terms[t]);
+            postingEntries[t] = posting.keySet().stream().mapToInt(Integer::intValue).toArray();
+            postingCounts[t] = posting.values().stream().mapToInt(Integer::intValue).toArray();
+        }
+        averageLength = entries.isEmpty() ? 1 : (float) totalLength / entries.size();
+        this.entries = entries;
+        logger.info("Indexed {} catalog entries, {} terms in {} ms", entries.size(), terms.length,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Best matching entries first.
+     *
+     * @throws IllegalArgumentException if the query has no words or too many
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> words = tokenize(query).stream().map(token -> token.term).distinct().toList();
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain a letter or digit");
+        }
+        if (words.size() > MAX_QUERY_WORDS) {
+            throw new IllegalArgumentException("Search query cannot have more than " + MAX_QUERY_WORDS + " words");
+        }
+
+        float[] scores = new float[entries.size()];
+        int[] matchedWords = new int[entries.size()];
+        float[] best = new float[entries.size()];
+        Set<String> matchedTerms = new HashSet<>();
+        for (String word : words) {
+            Arrays.fill(best, 0f);
+            int exact = Arrays.binarySearch(terms, word);
+            boolean found = exact >= 0;
+            if (found) {
+                accumulate(exact, 1f, best, matchedTerms);
+            }
+            if (word.length() >= MIN_PREFIX_LENGTH) {
+                for (int t = found ? exact + 1 : -exact - 1; t < terms.length && terms[t].startsWith(word); t++) {
+                    accumulate(t, PREFIX_FACTOR, best, matchedTerms);
+                    found = true;
+                }
+            }
+            if (!found && word.length() >= MIN_FUZZY_LENGTH) {
+                int maxEdits = word.length() >= 8 ? 2 : 1;
+                for (int t = 0; t < terms.length; t++) {
+                    if (withinEdits(word, terms[t], maxEdits)) {
+                        accumulate(t, FUZZY_FACTOR, best, matchedTerms);
+                    }
+                }
+            }
+            // Each word adds its best match per entry, so a word matching both
+            // exactly and as a prefix in one entry is not counted twice
+            for (int i = 0; i < best.length; i++) {
+                if (best[i] > 0) {
+                    scores[i] += best[i];
+                    matchedWords[i]++;
+                }
+            }
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            if (matchedWords[i] == words.size()) {
+                matches.add(i);
+            }
+        }
+        matches.sort(Comparator.<Integer>comparingDouble(i -> -scores[i]).thenComparing(i -> entries.get(i).title));
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i : matches.subList(0, Math.min(limit, matches.size()))) {
+            hits.add(hit(entries.get(i), scores[i], matchedTerms));
+        }
+        return hits;
+    }
+
+    private void accumulate(int term, float factor, float[] best, Set<String> matchedTerms) {
+        int[] postingEntry = postingEntries[term];
+        int[] postingCount = postingCounts[term];
+        float documentFrequency = postingEntry.length;
+        float idf = (float) Math.log(1 + (entries.size() - documentFrequency + 0.5f) / (documentFrequency + 0.5f));
+        for (int p = 0; p < postingEntry.length; p++) {
+            int count = postingCount[p];
+            float norm = K1 * (1 - B + B * entries.get(postingEntry[p]).length / averageLength);
+            float score = factor * idf * count * (K1 + 1) / (count + norm);
+            if (score > best[postingEntry[p]]) {
+                best[postingEntry[p]] = score;
+            }
+        }
+        matchedTerms.add(terms[term]);
+    }
+
+    private static SearchHit hit(Entry entry, float score, Set<String> matchedTerms) {
+        String text = entry.text;
+        int start = 0;
+        if (text.length() > SNIPPET_LENGTH) {
+            // Start a little before the first matched word; at the top if only the title matched
+            int anchor = 0;
+            for (Token token : entry.tokens) {
+                if (matchedTerms.contains(token.term)) {
+                    anchor = token.start - SNIPPET_LENGTH / 4;
+                    break;
+                }
+            }
+            for (Token token : entry.tokens) {
+                if (anchor > 0 && token.start >= anchor) {
+                    start = token.start;
+                    break;
+                }
+            }
+        }
+        int end = text.length();
+        if (end - start > SNIPPET_LENGTH) {
+            end = start;
+            for (Token token : entry.tokens) {
+                if (token.start < start) {
+                    continue;
+                }
+                if (token.end - start > SNIPPET_LENGTH) {
+                    break;
+                }
+                end = token.end;
+            }
+        }
+
+        String prefix = start > 0 ? "…" : "";
+        List<SearchHit.Highlight> highlights = new ArrayList<>();
+        for (Token token : entry.tokens) {
+            if (token.start >= start && token.end <= end && matchedTerms.contains(token.term)) {
+                highlights.add(new SearchHit.Highlight(token.start - start + prefix.length(), token.end - start + prefix.length()));
+            }
+        }
+        String snippet = prefix + text.substring(start, end).replace('\n', ' ') + (end < text.length() ? "…" : "");
+        return new SearchHit(entry.kind, entry.id, entry.parentId, entry.parentName, entry.title, entry.level,
+                snippet, highlights, score);
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits. Apostrophes inside
+     * a word are dropped rather than splitting it, so "can’t" is indexed as "cant".
+     */
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (start < 0) {
+                    start = i;
+                }
+                term.append(Character.toLowerCase(c));
+            } else if (start >= 0 && (c == '\'' || c == '’') && i + 1 < text.length()
+                    && Character.isLetterOrDigit(text.charAt(i + 1))) {
+                continue;
+            } else if (start >= 0) {
+                tokens.add(new Token(term.toString(), start, i));
+                term.setLength(0);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Levenshtein distance of at most maxEdits, giving up as soon as a row exceeds it.
+     */
+    private static boolean withinEdits(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return false;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private static class Entry {
+        final String kind;
+        final UUID id;
+        final UUID parentId;
+        final String parentName;
+        final String title;
+        final Integer level;
+        final String text;
+        final List<Token> tokens;
+        // Weighted word count, for length normalization
+        int length;
+
+        Entry(String kind, UUID id, UUID parentId, String parentName, String title, Integer level, String text) {
+            this.kind = kind;
+            this.id = id;
+            this.parentId = parentId;
+            this.parentName = parentName;
+            this.title = title;
+            this.level = level;
+            this.text = text != null ? text : "";
+            this.tokens = tokenize(this.text);
+        }
+    }
+
+    private static class Token {
+        final String term;
+        final int start;
+        final int end;
+
+        Token(String term, int start, int end) {
+            this.term = term;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.notes.service;
+
+import com.notes.config.BackgroundConfig;
+import com.notes.config.CatalogIds;
+import com.notes.config.CatalogVersion;
+import com.notes.config.ClassConfig;
+import com.notes.config.DebugCharacter;
+import com.notes.config.SpeciesConfig;
+import com.notes.model.Background;
+import com.notes.model.Character;
+import com.notes.model.CharacterClass;
+import com.notes.model.Species;
+import com.notes.repository.CharacterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds the species, background and class catalog. Entries are upserted in JDBC
+ * batches under their name-based ids, and the catalog checksum is recorded in
+ * catalog_seed, so a restart with an unchanged catalog costs a single query.
+ * Seeding runs on its own thread after startup; until it has finished, the
+ * "catalog" health indicator keeps the readiness probe out of service.
+ */
+@Service
+public class CatalogSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSeeder.class);
+    // Advisory lock key, so instances starting together seed one after the other
+    private static final long SEED_LOCK = 0x6e6f7465735f6361L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    @Value("${notes.seed.async:true}")
+    private boolean async;
+
+    @Value("${notes.seed.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notes.seed.debug-character:true}")
+    private boolean debugCharacter;
+
+    private volatile boolean seeded;
+    private volatile String failure;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (!async) {
+            run();
+            return;
+        }
+        Thread thread = new Thread(this::run, "catalog-seeder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        try {
+            String checksum = CatalogVersion.current();
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> seed(checksum)))) {
+                logger.info("Seeded reference catalog version {}", checksum);
+            } else {
+                logger.info("Reference catalog version {} already seeded, skipping", checksum);
+            }
+            if (debugCharacter && characterRepository.count() == 0) {
+                Character saved = characterRepository.save(DebugCharacter.create("Tom(Debug Character)",
+                        CatalogIds.of("species", SpeciesConfig.getAllSpeciesNames().get(0)),
+                        CatalogIds.of("background", BackgroundConfig.getAllBackgroundNames().get(0)),
+                        CatalogIds.of("class", ClassConfig.getAllClassNames().get(0))));
+                logger.info("Created debug character with ID: {}", saved.getId());
+            }
+            referenceCatalog.refresh();
+            seeded = true;
+            logger.info("Catalog ready after {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            failure = e.getMessage();
+            logger.error("Error seeding reference catalog", e);
+        }
+    }
+
+    /**
+     * @return false if this checksum was already seeded
+     */
+    private boolean seed(String checksum) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", SEED_LOCK);
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM catalog_seed WHERE checksum = ?", Integer.class, checksum);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+
+        List<Species> species = SpeciesConfig.getAllSpeciesNames().stream().map(SpeciesConfig::createSpecies).toList();
+        List<Background> backgrounds = BackgroundConfig.getAllBackgroundNames().stream().map(BackgroundConfig::createBackground).toList();
+        List<CharacterClass> classes = ClassConfig.getAllClassNames().stream().map(ClassConfig::createClass).toList();
+
+        // Parents are upserted, so ids referenced by characters never go away. Their
+        // features are replaced, nothing references them.
+        batch("INSERT INTO species (id, name) VALUES (?, ?) "
+                        + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name",
+                species, (ps, entry) -> {
+                    ps.setObject(1, entry.getId());
+                    ps.setString(2, entry.getName());
+                });
+        batch("DELETE FROM trait WHERE species_id = ?", species, (ps, entry) -> ps.setObject(1, entry.getId()));
+        batch("INSERT INTO trait (id, species_id, title, description) VALUES (?, ?, ?, ?)",
+                species.stream().flatMap(entry -> entry.getTraits().stream()).toList(), (ps, trait) -> {
+                    ps.setObject(1, trait.getId());
+                    ps.setObject(2, trait.getSpecies().getId());
+                    ps.setString(3, trait.getTitle());
+                    ps.setString(4, trait.getDescription());
+                });
+
+        batch("INSERT INTO background (id, name, description) VALUES (?, ?, ?) "
+                        + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, description = EXCLUDED.description",
+                backgrounds, (ps, entry) -> {
+                    ps.setObject(1, entry.getId());
+                    ps.setString(2, entry.getName());
+                    ps.setString(3, entry.getDescription());
+                });
+        batch("DELETE FROM background_feature WHERE background_id = ?", backgrounds, (ps, entry) -> ps.setObject(1, entry.getId()));
+        batch("INSERT INTO background_feature (id, background_id, title, description) VALUES (?, ?, ?, ?)",
+                backgrounds.stream().flatMap(entry -> entry.getFeatures().stream()).toList(), (ps, feature) -> {
+                    ps.setObject(1, feature.getId());
+                    ps.setObject(2, feature.getBackground().getId());
+                    ps.setString(3, feature.getTitle());
+                    ps.setString(4, feature.getDescription());
+                });
+
+        batch("INSERT INTO character_class (id, name, description, hit_die) VALUES (?, ?, ?, ?) "
+                        + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, description = EXCLUDED.description, "
+                        + "hit_die = EXCLUDED.hit_die",
+                classes, (ps, entry) -> {
+                    ps.setObject(1, entry.getId());
+                    ps.setString(2, entry.getName());
+                    ps.setString(3, entry.getDescription());
+                    ps.setString(4, entry.getHitDie());
+                });
+        batch("DELETE FROM class_feature WHERE class_id = ?", classes, (ps, entry) -> ps.setObject(1, entry.getId()));
+        batch("INSERT INTO class_feature (id, class_id, title, description, level) VALUES (?, ?, ?, ?, ?)",
+                classes.stream().flatMap(entry -> entry.getFeatures().stream()).toList(), (ps, feature) -> {
+                    ps.setObject(1, feature.getId());
+                    ps.setObject(2, feature.getCharacterClass().getId());
+                    ps.setString(3, feature.getTitle());
+                    ps.setString(4, feature.getDescription());
+                    ps.setInt(5, feature.getLevel());
+                });
+
+        jdbcTemplate.update("DELETE FROM catalog_seed");
+        jdbcTemplate.update("INSERT INTO catalog_seed (checksum, seeded_at) VALUES (?, now())", checksum);
+        return true;
+    }
+
+    private <T> void batch(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, setter);
+    }
+}
@@ -0,0 +1,155 @@
+package com.notes.service;
+
+import com.notes.model.Character;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds character responses. A character row only carries catalog ids; the
+ * species, background and class entries named in {@code expand} are attached
+ * from the in-memory {@link ReferenceCatalog}, so no catalog rows are read.
+ */
+@Component
+public class CharacterAssembler {
+    public enum Reference {
+        SPECIES("species", "species"),
+        BACKGROUND("background", "background"),
+        CLASS("class", "characterClass");
+
+        private final String name;
+        private final String property;
+
+        Reference(String name, String property) {
+            this.name = name;
+            this.property = property;
+        }
+
+        public static Reference fromName(String name) {
+            for (Reference reference : values()) {
+                if (reference.name.equals(name)) {
+                    return reference;
+                }
+            }
+            throw new IllegalArgumentException("Unknown expand value: " + name);
+        }
+    }
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${notes.characters.default-expand:}")
+    private String defaultExpand;
+
+    /**
+     * Parses a comma-separated expand parameter. Without the parameter the
+     * configured default applies; an empty value expands nothing.
+     *
+     * @throws IllegalArgumentException if a value is not species, background or class
+     */
+    public Set<Reference> parseExpand(String expand) {
+        String value = expand != null ? expand : defaultExpand;
+        Set<Reference> references = EnumSet.noneOf(Reference.class);
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) {
+                references.add(Reference.fromName(name.trim()));
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Entity tag for a character representation. It changes with the row
+     * version, the set of expanded references and, when any reference is
+     * expanded, the catalog version. The tag is weak: JSON, CBOR and Smile
+     * responses of the same version share it, and Tomcat does not compress
+     * responses carrying a strong tag.
+     */
+    public String eTag(Long id, Long version, Set<Reference> expand) {
+        StringBuilder tag = new StringBuilder("W/\"").append(id).append('.').append(version);
+        if (!expand.isEmpty()) {
+            int mask = 0;
+            for (Reference reference : expand) {
+                mask |= 1 << reference.ordinal();
+            }
+            tag.append('.').append(mask).append('.').append(referenceCatalog.getSnapshot().getVersion());
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Entity tag for the derived sheet of a character. Spellcasting depends on the
+     * class entry, so the catalog version is always part of it.
+     */
+    public String derivedETag(Long id, Long version) {
+        return "W/\"" + id + '.' + version + ".derived." + referenceCatalog.getSnapshot().getVersion() + '"';
+    }
+
+    /**
+     * Extracts the version from an entity tag produced by {@link #eTag}. A
+     * wildcard matches any version and yields null. The strong form of the tag
+     * is accepted too.
+     *
+     * @throws IllegalArgumentException if the tag is not a single tag for this character
+     */
+    public Long versionFromETag(Long id, String eTag) {
+        String tag = eTag.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        String[] parts = tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")
+                ? tag.substring(1, tag.length() - 1).split("\\.")
+                : new String[0];
+        if (parts.length < 2 || !parts[0].equals(String.valueOf(id))) {
+            throw new IllegalArgumentException("If-Match must be an entity tag of this character");
+        }
+        try {
+            return Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be an entity tag of this character");
+        }
+    }
+
+    public JsonNode toJson(Character character, Set<Reference> expand) {
+        ObjectNode node = objectMapper.valueToTree(character);
+        if (expand.isEmpty()) {
+            return node;
+        }
+        ReferenceCatalog.Snapshot snapshot = referenceCatalog.getSnapshot();
+        for (Reference reference : expand) {
+            switch (reference) {
+                case SPECIES -> attach(node, reference, snapshot.getSpeciesNodes(), character.getSpeciesId());
+                case BACKGROUND -> attach(node, reference, snapshot.getBackgroundNodes(), character.getBackgroundId());
+                case CLASS -> attach(node, reference, snapshot.getClassNodes(), character.getClassId());
+            }
+        }
+        return node;
+    }
+
+    public JsonNode toJson(Collection<Character> characters, Set<Reference> expand) {
+        ArrayNode array = objectMapper.createArrayNode();
+        for (Character character : characters) {
+            array.add(toJson(character, expand));
+        }
+        return array;
+    }
+
+    private static void attach(ObjectNode node, Reference reference, Map<UUID, JsonNode> entries, UUID id) {
+        node.set(reference.property, id != null ? entries.get(id) : null);
+    }
+}
@@ -0,0 +1,233 @@
+package com.notes.service;
+
+import com.notes.dto.CharacterDelta;
+import com.notes.model.Character;
+import com.notes.repository.CharacterRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of character sheets for GET /characters/{id} and its derived
+ * sheet. An entry holds the character row plus its assembled JSON for each expand
+ * set, catalog version and the derived sheet asked for, keyed by entity tag, so a
+ * repeated read neither queries nor computes the row again.
+ *
+ * <p>Every write publishes a {@link CharacterDelta}; the entry is dropped once the
+ * write has committed. A load still running at that point is dropped with it: its
+ * caller gets the row it read, but it is never left behind in the cache. Entries are
+ * evicted by size and expire after the TTL.
+ *
+ * <p>Writes made by other instances publish no delta here, so with revalidation on (the
+ * default) a cached entry is used only after the version column, read on its own, shows
+ * the row has not changed since; otherwise it is loaded again. The cache then saves
+ * loading the row and assembling the sheet, not the round trip.
+ *
+ * <p>The cache holds futures and a miss is loaded on the requesting thread, outside
+ * the cache's map. A loader passed to {@code Cache.get} would run its JDBC query
+ * inside {@code ConcurrentHashMap.compute}, holding a bin lock that blocks writers
+ * of other keys in the bin and pins a virtual thread to its carrier. Concurrent
+ * misses for the same character still wait for the one load.
+ */
+@Service
+public class CharacterCache {
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private CharacterAssembler characterAssembler;
+
+    @Autowired
+    private DerivedStatsEngine derivedStatsEngine;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @org.springframework.beans.factory.annotation.Value("${notes.cache.enabled:true}")
+    private boolean enabled;
+
+    @org.springframework.beans.factory.annotation.Value("${notes.cache.max-size:2000}")
+    private long maxSize;
+
+    @org.springframework.beans.factory.annotation.Value("${notes.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @org.springframework.beans.factory.annotation.Value("${notes.cache.revalidate:true}")
+    private boolean revalidate;
+
+    private AsyncCache<Long, Entry> cache;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size with cache=characters
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "characters");
+    }
+
+    /**
+     * Current version of the character, from the version column alone (or the cache,
+     * without revalidation), for revalidating a client's copy.
+     */
+    public Optional<Long> findVersion(Long id) {
+        CompletableFuture<Entry> cached = cache != null && !revalidate ? cache.getIfPresent(id) : null;
+        Entry entry = cached != null && cached.isDone() && !cached.isCompletedExceptionally() ? cached.join() : null;
+        return entry != null ? Optional.of(entry.character.getVersion()) : characterRepository.findVersionById(id);
+    }
+
+    /**
+     * The assembled sheet with the given references expanded, loading the row on a miss.
+     */
+    public Optional<Sheet> find(Long id, Set<CharacterAssembler.Reference> expand) {
+        Entry entry = entry(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        String eTag = characterAssembler.eTag(id, entry.character.getVersion(), expand);
+        JsonNode json = entry.sheet(eTag, () -> characterAssembler.toJson(entry.character, expand));
+        return Optional.of(new Sheet(eTag, json));
+    }
+
+    /**
+     * The derived sheet, computed once per character version and kept with the entry.
+     */
+    public Optional<Sheet> findDerived(Long id) {
+        Entry entry = entry(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        String eTag = characterAssembler.derivedETag(id, entry.character.getVersion());
+        JsonNode json = entry.sheet(eTag, () -> objectMapper.valueToTree(derivedStatsEngine.compute(entry.character)));
+        return Optional.of(new Sheet(eTag, json));
+    }
+
+    /**
+     * The character row, shared between requests; it must not be modified.
+     */
+    public Optional<Character> findCharacter(Long id) {
+        Entry entry = entry(id);
+        return entry != null ? Optional.of(entry.character) : Optional.empty();
+    }
+
+    /**
+     * Drops the entry, for a caller that found the cached row out of date.
+     */
+    public void invalidate(Long id) {
+        if (cache != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDelta(CharacterDelta delta) {
+        invalidate(delta.getId());
+    }
+
+    private Entry entry(Long id) {
+        if (cache == null) {
+            return load(id);
+        }
+        CompletableFuture<Entry> loading = new CompletableFuture<>();
+        CompletableFuture<Entry> entry = cache.get(id, (key, executor) -> loading);
+        if (entry == loading) {
+            // A null row completes the future with null, which Caffeine does not keep
+            try {
+                loading.complete(load(id));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+            return join(loading);
+        }
+        Entry cached = join(entry);
+        if (cached != null && revalidate && !isCurrent(cached)) {
+            // Written or deleted on another instance since it was cached. Loaded on this
+            // thread rather than by waiting for another request's load: the version query
+            // left this request holding a connection (entity manager in view), and requests
+            // waiting like that could take the whole pool from the loads they wait for
+            Entry current = load(id);
+            if (current != null) {
+                cache.asMap().replace(id, entry, CompletableFuture.completedFuture(current));
+            } else {
+                cache.asMap().remove(id, entry);
+            }
+            return current;
+        }
+        return cached;
+    }
+
+    private boolean isCurrent(Entry entry) {
+        return characterRepository.findVersionById(entry.character.getId())
+                .filter(version -> version.equals(entry.character.getVersion()))
+                .isPresent();
+    }
+
+    private static Entry join(CompletableFuture<Entry> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Entry load(Long id) {
+        return characterRepository.findById(id).map(Entry::new).orElse(null);
+    }
+
+    /**
+     * An assembled sheet and its entity tag. The JSON is shared between requests
+     * and must not be modified.
+     */
+    @Value
+    public static class Sheet {
+        String eTag;
+        JsonNode json;
+    }
+
+    private static class Entry {
+        final Character character;
+        final Map<String, JsonNode> sheets = new ConcurrentHashMap<>();
+
+        Entry(Character character) {
+            this.character = character;
+        }
+
+        // Computed outside the map, since assembling may wait for the catalog to load;
+        // two requests racing on a new tag both compute the same JSON
+        JsonNode sheet(String eTag, Supplier<JsonNode> assemble) {
+            JsonNode json = sheets.get(eTag);
+            if (json == null) {
+                json = assemble.get();
+                JsonNode raced = sheets.putIfAbsent(eTag, json);
+                if (raced != null) {
+                    json = raced;
+                }
+            }
+            return json;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.notes.service;
+
+import com.notes.dto.CharacterConflict;
+import com.notes.model.Character;
+import com.notes.model.CharacterField;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Describes a failed optimistic write. The character is re-read from the database,
+ * bypassing any stale copy in the persistence context, and only the submitted
+ * fields whose current value differs from the submitted one are reported.
+ */
+@Service
+public class CharacterConflictService {
+    private static final Object NOT_TRACKED = new Object();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @param submitted raw request values keyed by sheet property; keys that are
+     *                  not character fields or catalog ids are ignored
+     * @return empty if the character does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<CharacterConflict> describe(Long id, Long expectedVersion, Map<String, String> submitted) {
+        Character current = load(id);
+        if (current == null) {
+            return Optional.empty();
+        }
+        Map<String, Object> conflicts = new LinkedHashMap<>();
+        submitted.forEach((property, raw) -> {
+            Object value = currentValue(current, property);
+            if (value != NOT_TRACKED && differs(property, value, raw)) {
+                conflicts.put(property, value);
+            }
+        });
+        return Optional.of(new CharacterConflict(id, expectedVersion, current.getVersion(), conflicts));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CharacterConflict> describeCoin(Long id, Long expectedVersion, String coin, int amount) {
+        Character current = load(id);
+        if (current == null) {
+            return Optional.empty();
+        }
+        JsonNode value = read(current.getCoins()).path(coin);
+        Map<String, Object> conflicts = new LinkedHashMap<>();
+        if (!value.isNumber() || value.intValue() != amount) {
+            conflicts.put("coins/" + coin, value.isMissingNode() ? null : value);
+        }
+        return Optional.of(new CharacterConflict(id, expectedVersion, current.getVersion(), conflicts));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CharacterConflict> describeItem(Long id, Long expectedVersion, String itemId, String item) {
+        Character current = load(id);
+        if (current == null) {
+            return Optional.empty();
+        }
+        JsonNode value = null;
+        for (JsonNode element : read(current.getItems())) {
+            if (itemId.equals(element.path("id").asText())) {
+                value = element;
+                break;
+            }
+        }
+        Map<String, Object> conflicts = new LinkedHashMap<>();
+        if (value == null || !value.equals(readOrNull(item))) {
+            conflicts.put("items/" + itemId, value);
+        }
+        return Optional.of(new CharacterConflict(id, expectedVersion, current.getVersion(), conflicts));
+    }
+
+    private Character load(Long id) {
+        Character current = entityManager.find(Character.class, id);
+        if (current != null) {
+            entityManager.refresh(current);
+        }
+        return current;
+    }
+
+    private static Object currentValue(Character current, String property) {
+        switch (property) {
+            case "speciesId" -> {
+                return current.getSpeciesId();
+            }
+            case "backgroundId" -> {
+                return current.getBackgroundId();
+            }
+            case "classId" -> {
+                return current.getClassId();
+            }
+            default -> {
+                return CharacterField.isProperty(property)
+                        ? CharacterField.fromProperty(property).get(current)
+                        : NOT_TRACKED;
+            }
+        }
+    }
+
+    private boolean differs(String property, Object value, String raw) {
+        if (raw == null || value == null) {
+            return raw != null || value != null;
+        }
+        if (value instanceof UUID) {
+            return !value.toString().equals(raw.trim());
+        }
+        CharacterField field = CharacterField.fromProperty(property);
+        if (field.getKind() == CharacterField.Kind.JSON) {
+            // jsonb normalizes whitespace and key order, so compare trees
+            return !read((String) value).equals(readOrNull(raw));
+        }
+        try {
+            return !Objects.equals(field.parse(raw), value);
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private JsonNode read(String json) {
+        JsonNode node = readOrNull(json);
+        return node != null ? node : objectMapper.missingNode();
+    }
+
+    private JsonNode readOrNull(String json) {
+        try {
+            return json != null ? objectMapper.readTree(json) : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
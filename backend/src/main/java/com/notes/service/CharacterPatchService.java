@@ -0,0 +1,212 @@
+package com.notes.service;
+
+import com.notes.events.CharacterEvents;
+import com.notes.model.Character;
+import com.notes.model.CharacterField;
+import com.notes.repository.CharacterRepository;
+import com.notes.validation.CharacterJsonValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes individual character columns with a single JPQL bulk UPDATE, without
+ * loading the character or its species, background and class graphs first.
+ * Full PUTs write only the columns they changed, the same way, from the cached row.
+ * Single items and coin counts are changed inside the JSONB value with jsonb_set.
+ * Each successful write publishes the changed fields to live sheet subscribers.
+ */
+@Service
+public class CharacterPatchService {
+    private static final Set<String> COINS = Set.of("platinum", "gold", "electrum", "silver", "copper");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CharacterJsonValidator characterJsonValidator;
+
+    @Autowired
+    private CharacterEvents characterEvents;
+
+    /**
+     * Parses and validates a request body into column values.
+     *
+     * @throws IllegalArgumentException if a field is unknown or a value is invalid
+     */
+    public Map<CharacterField, Object> parse(Map<String, String> request) {
+        Map<CharacterField, Object> changes = new EnumMap<>(CharacterField.class);
+        for (Map.Entry<String, String> entry : request.entrySet()) {
+            CharacterField field = CharacterField.fromProperty(entry.getKey());
+            if (entry.getValue() == null) {
+                throw new IllegalArgumentException(field.getLabel() + " cannot be null");
+            }
+            Object value = field.parse(entry.getValue());
+            if (field.getKind() == CharacterField.Kind.JSON) {
+                characterJsonValidator.validate(field, entry.getValue());
+            }
+            changes.put(field, value);
+        }
+        return changes;
+    }
+
+    /**
+     * Applies the changes in one UPDATE statement, if the character is still at
+     * the expected version.
+     *
+     * @param expectedVersion the version the client last read, or null to write unconditionally
+     * @return false if no character with the given id and version exists
+     */
+    @Transactional
+    public boolean apply(Long id, Map<CharacterField, Object> changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            return characterRepository.findVersionById(id)
+                    .filter(version -> expectedVersion == null || version.equals(expectedVersion))
+                    .isPresent();
+        }
+
+        // EnumMap iterates in declaration order, so each field combination always
+        // produces the same statement text and reuses the cached query plan
+        Map<String, Object> delta = new LinkedHashMap<>();
+        changes.forEach((field, value) -> delta.put(field.getProperty(), value));
+        if (!update(id, delta, expectedVersion)) {
+            return false;
+        }
+        characterEvents.changed(id, expectedVersion != null ? expectedVersion + 1 : null, delta);
+        return true;
+    }
+
+    /**
+     * Writes the columns in which {@code updated} differs from {@code current}, a row
+     * read earlier, in one UPDATE statement, and advances the version of {@code updated}.
+     * Lets a PUT start from the cached row instead of loading it again.
+     *
+     * @param checkVersion whether to write only if the row is still at the version of
+     *        {@code current}. Without the check the changed columns are written over the
+     *        row as it is now, and if other writes have landed since {@code current} was
+     *        read, {@code updated} is refreshed from the row so it shows them too
+     * @return false if no character with the id (and version, when checked) of {@code current} exists
+     */
+    @Transactional
+    public boolean update(Character current, Character updated, boolean checkVersion) {
+        Map<String, Object> before = characterEvents.capture(current);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        characterEvents.capture(updated).forEach((property, value) -> {
+            if (!Objects.equals(before.get(property), value)) {
+                changes.put(property, value);
+            }
+        });
+        if (changes.isEmpty()) {
+            Optional<Long> version = characterRepository.findVersionById(current.getId());
+            if (!checkVersion && version.isPresent() && !version.get().equals(current.getVersion())) {
+                refresh(updated);
+            }
+            return version.filter(found -> !checkVersion || found.equals(current.getVersion())).isPresent();
+        }
+        if (!update(current.getId(), changes, checkVersion ? current.getVersion() : null)) {
+            return false;
+        }
+        updated.setVersion(current.getVersion() + 1);
+        if (!checkVersion) {
+            // The row stays locked by the UPDATE until commit, so this reads this write's version
+            Long version = characterRepository.findVersionById(current.getId()).orElseThrow();
+            if (!version.equals(updated.getVersion())) {
+                refresh(updated);
+            }
+        }
+        characterEvents.changed(current.getId(), updated.getVersion(), changes);
+        return true;
+    }
+
+    private void refresh(Character character) {
+        characterRepository.findById(character.getId()).ifPresent(row -> BeanUtils.copyProperties(row, character));
+    }
+
+    private boolean update(Long id, Map<String, Object> values, Long expectedVersion) {
+        StringBuilder jpql = new StringBuilder("UPDATE Character c SET c.version = c.version + 1");
+        for (String property : values.keySet()) {
+            jpql.append(", c.").append(property).append(" = :").append(property);
+        }
+        jpql.append(" WHERE c.id = :id");
+        if (expectedVersion != null) {
+            jpql.append(" AND c.version = :version");
+        }
+
+        Query query = entityManager.createQuery(jpql.toString());
+        values.forEach(query::setParameter);
+        query.setParameter("id", id);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.executeUpdate() > 0;
+    }
+
+    /**
+     * Replaces the inventory item with the given id without rewriting the rest of the array.
+     *
+     * @param expectedVersion the version the client last read, or null to write unconditionally
+     * @return false if the character or the item does not exist, or the version differs
+     * @throws IllegalArgumentException if the item is not a JSON object with a matching id
+     */
+    @Transactional
+    public boolean updateItem(Long id, String itemId, String item, Long expectedVersion) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(item);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid item JSON format: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Item must be a JSON object");
+        }
+        if (!itemId.equals(node.path("id").asText())) {
+            throw new IllegalArgumentException("Item id must match the id in the path");
+        }
+        if (characterRepository.updateItem(id, itemId, item, expectedVersion) == 0) {
+            return false;
+        }
+        characterEvents.changed(id, expectedVersion != null ? expectedVersion + 1 : null, Map.of("items/" + itemId, node));
+        return true;
+    }
+
+    /**
+     * Sets one coin count without rewriting the other denominations.
+     *
+     * @param expectedVersion the version the client last read, or null to write unconditionally
+     * @return false if no character with the given id exists, or the version differs
+     * @throws IllegalArgumentException if the coin type or amount is invalid
+     */
+    @Transactional
+    public boolean updateCoin(Long id, String coin, int amount, Long expectedVersion) {
+        if (!COINS.contains(coin)) {
+            throw new IllegalArgumentException("Unknown coin type: " + coin);
+        }
+        if (amount < 0) {
+            throw new IllegalArgumentException("Coin amount cannot be negative");
+        }
+        if (characterRepository.updateCoin(id, coin, amount, expectedVersion) == 0) {
+            return false;
+        }
+        characterEvents.changed(id, expectedVersion != null ? expectedVersion + 1 : null, Map.of("coins/" + coin, amount));
+        return true;
+    }
+}
@@ -0,0 +1,143 @@
+package com.notes.service;
+
+import com.notes.dto.CharacterPage;
+import com.notes.dto.CharacterSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Filtered, sorted pages of character summaries. Pages are keyset-paginated: the
+ * cursor is the id of the last character on the previous page, and the next page
+ * continues after that character's (sort value, id) pair, so every page costs an
+ * index range scan however deep it is. The indexes are in V4__character_filter_indexes.sql.
+ */
+@Service
+public class CharacterQueryService {
+    public enum Sort {
+        ID("id"),
+        NAME("name"),
+        LEVEL("level");
+
+        private final String property;
+
+        Sort(String property) {
+            this.property = property;
+        }
+    }
+
+    @Value
+    public static class Filter {
+        // Case-insensitive substring of the name
+        String name;
+        UUID classId;
+        UUID speciesId;
+        Integer minLevel;
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Parses a sort parameter: id, name or level, descending with a leading "-".
+     *
+     * @throws IllegalArgumentException if the property cannot be sorted by
+     */
+    public static Sort parseSort(String sort) {
+        String property = sort.startsWith("-") ? sort.substring(1) : sort;
+        for (Sort value : Sort.values()) {
+            if (value.property.equals(property)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort property: " + property);
+    }
+
+    /**
+     * @param descending whether to sort from the highest value down
+     * @param cursor id of the last character of the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor character does not exist (any sort but id)
+     */
+    @Transactional(readOnly = true)
+    public CharacterPage find(Filter filter, Sort sort, boolean descending, Long cursor, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.notes.dto.CharacterSummary(c.id, c.name, c.level, cc.name, s.name, b.name, c.currentHp, c.maxHp, c.temporaryHp) " +
+                "FROM Character c LEFT JOIN c.characterClass cc LEFT JOIN c.species s LEFT JOIN c.background b WHERE 1 = 1");
+        if (filter.getName() != null) {
+            jpql.append(" AND LOWER(c.name) LIKE :name ESCAPE '\\'");
+        }
+        if (filter.getClassId() != null) {
+            jpql.append(" AND c.classId = :classId");
+        }
+        if (filter.getSpeciesId() != null) {
+            jpql.append(" AND c.speciesId = :speciesId");
+        }
+        if (filter.getMinLevel() != null) {
+            jpql.append(" AND c.level >= :minLevel");
+        }
+
+        String comparison = descending ? " < " : " > ";
+        Object after = null;
+        if (cursor != null) {
+            if (sort == Sort.ID) {
+                jpql.append(" AND c.id").append(comparison).append(":cursor");
+            } else {
+                // The cursor row supplies the sort value to continue after
+                List<?> values = entityManager.createQuery("SELECT c." + sort.property + " FROM Character c WHERE c.id = :id")
+                        .setParameter("id", cursor)
+                        .getResultList();
+                if (values.isEmpty()) {
+                    throw new IllegalArgumentException("Cursor does not match a character");
+                }
+                after = values.get(0);
+                jpql.append(" AND (c.").append(sort.property).append(", c.id)").append(comparison).append("(:after, :cursor)");
+            }
+        }
+
+        String direction = descending ? " DESC" : " ASC";
+        jpql.append(" ORDER BY ");
+        if (sort != Sort.ID) {
+            jpql.append("c.").append(sort.property).append(direction).append(", ");
+        }
+        jpql.append("c.id").append(direction);
+
+        TypedQuery<CharacterSummary> query = entityManager.createQuery(jpql.toString(), CharacterSummary.class);
+        if (filter.getName() != null) {
+            query.setParameter("name", "%" + escapeLike(filter.getName().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (filter.getClassId() != null) {
+            query.setParameter("classId", filter.getClassId());
+        }
+        if (filter.getSpeciesId() != null) {
+            query.setParameter("speciesId", filter.getSpeciesId());
+        }
+        if (filter.getMinLevel() != null) {
+            query.setParameter("minLevel", filter.getMinLevel());
+        }
+        if (cursor != null) {
+            query.setParameter("cursor", cursor);
+        }
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+
+        // Fetch one extra row to find out whether another page exists
+        List<CharacterSummary> summaries = query.setMaxResults(limit + 1).getResultList();
+        Long nextCursor = null;
+        if (summaries.size() > limit) {
+            summaries = summaries.subList(0, limit);
+            nextCursor = summaries.get(limit - 1).getId();
+        }
+        return new CharacterPage(summaries, nextCursor);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
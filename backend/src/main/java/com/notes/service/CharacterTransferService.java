@@ -0,0 +1,236 @@
+package com.notes.service;
+
+import com.notes.dto.ImportResult;
+import com.notes.model.Character;
+import com.notes.model.CharacterField;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Exports and imports characters as newline-delimited JSON, one sheet per line in
+ * the same shape GET /api/characters/{id}?expand= returns. Both directions work
+ * in constant memory: the export reads from a server-side cursor and detaches each
+ * row once written, the import parses one line at a time and saves in batches.
+ */
+@Service
+public class CharacterTransferService {
+    // Properties read separately below, or present in exported and expanded sheets
+    // but never imported: ids, expanded catalog entries and the derived modifiers
+    private static final Set<String> NOT_FIELDS = Set.of("id", "version", "createdAt",
+            "speciesId", "backgroundId", "classId", "species", "background", "characterClass",
+            "strengthModifier", "dexterityModifier", "constitutionModifier",
+            "intelligenceModifier", "wisdomModifier", "charismaModifier");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    @Autowired
+    private CharacterPatchService characterPatchService;
+
+    @Value("${notes.transfer.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${notes.transfer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notes.transfer.max-errors:100}")
+    private int maxErrors;
+
+    /**
+     * Writes every character, ordered by id, as one JSON line each.
+     */
+    @Transactional(readOnly = true)
+    public long exportTo(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Character> characters = entityManager
+                     .createQuery("SELECT c FROM Character c ORDER BY c.id", Character.class)
+                     .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                     .setHint(HibernateHints.HINT_READ_ONLY, true)
+                     .getResultStream()) {
+            Iterator<Character> iterator = characters.iterator();
+            while (iterator.hasNext()) {
+                Character character = iterator.next();
+                writer.writeValue(generator, character);
+                generator.writeRaw('\n');
+                entityManager.detach(character);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a character for every valid line. Ids and versions in the input are
+     * ignored, so new ids are assigned. Invalid lines, and lines the database
+     * refuses, are skipped and reported.
+     */
+    public ImportResult importFrom(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<ImportResult.LineError> errors = new ArrayList<>();
+        List<Character> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        long[] counts = new long[2];
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(parse(line));
+                batchLines.add(lineNumber);
+            } catch (IllegalArgumentException e) {
+                fail(counts, errors, lineNumber, e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                save(batch, batchLines, counts, errors);
+            }
+        }
+        save(batch, batchLines, counts, errors);
+        return new ImportResult(counts[0], counts[1], errors);
+    }
+
+    private void save(List<Character> batch, List<Long> batchLines, long[] counts, List<ImportResult.LineError> errors) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            persist(batch);
+            counts[0] += batch.size();
+        } catch (RuntimeException e) {
+            // The whole batch was rolled back; save its rows one by one so only the
+            // lines that cannot be saved are reported
+            for (int i = 0; i < batch.size(); i++) {
+                Character character = batch.get(i);
+                // Cleared, or the retried persist would take the row for a detached one
+                character.setId(null);
+                character.setVersion(null);
+                try {
+                    persist(List.of(character));
+                    counts[0]++;
+                } catch (RuntimeException rowError) {
+                    fail(counts, errors, batchLines.get(i),
+                            "Failed to save: " + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private void persist(List<Character> characters) {
+        transactionTemplate.executeWithoutResult(status -> {
+            characters.forEach(entityManager::persist);
+            entityManager.flush();
+            // Nothing saved here is read again, keep the context from growing
+            entityManager.clear();
+        });
+    }
+
+    private void fail(long[] counts, List<ImportResult.LineError> errors, long line, String message) {
+        counts[1]++;
+        if (errors.size() < maxErrors) {
+            errors.add(new ImportResult.LineError(line, message));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the line is not a valid character
+     */
+    private Character parse(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Line must be a JSON object");
+        }
+
+        ReferenceCatalog.Snapshot catalog = referenceCatalog.getSnapshot();
+        Character character = new Character();
+        character.setSpeciesId(catalogId(node, "speciesId", "Species", catalog.getSpecies()));
+        character.setBackgroundId(catalogId(node, "backgroundId", "Background", catalog.getBackgrounds()));
+        character.setClassId(catalogId(node, "classId", "Class", catalog.getClasses()));
+        if (node.hasNonNull("createdAt")) {
+            try {
+                character.setCreatedAt(objectMapper.treeToValue(node.get("createdAt"), LocalDateTime.class));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid createdAt: " + e.getOriginalMessage());
+            }
+        }
+
+        // Same parsing and schema checks as PATCH /api/characters/{id}
+        Map<String, String> values = new LinkedHashMap<>();
+        node.fields().forEachRemaining(entry -> {
+            String property = entry.getKey();
+            if (!NOT_FIELDS.contains(property)) {
+                JsonNode value = entry.getValue();
+                values.put(property, value.isNull() ? null : value.isTextual() ? value.asText() : value.toString());
+            }
+        });
+        characterPatchService.parse(values).forEach((field, value) -> field.set(character, value));
+        if (character.getName() == null) {
+            throw new IllegalArgumentException(CharacterField.NAME.getLabel() + " cannot be empty");
+        }
+        return character;
+    }
+
+    private static UUID catalogId(JsonNode node, String property, String label, Map<UUID, ?> entries) {
+        JsonNode value = node.get(property);
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException(label + " ID cannot be null");
+        }
+        UUID id;
+        try {
+            id = UUID.fromString(value.asText());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid UUID format");
+        }
+        if (!entries.containsKey(id)) {
+            throw new IllegalArgumentException(label + " not found with ID: " + id);
+        }
+        return id;
+    }
+}
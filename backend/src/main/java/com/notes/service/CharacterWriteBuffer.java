@@ -0,0 +1,259 @@
+package com.notes.service;
+
+import com.notes.dto.WriteBufferStats;
+import com.notes.model.CharacterField;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for field patches. Patches for the same character that
+ * arrive within the coalescing window are merged (later values win) and written
+ * as one UPDATE. An entry is flushed once it has been quiet for the window, or
+ * once it has been pending for the maximum delay, whichever comes first.
+ *
+ * <p>Writes for one character are serialized: taking an entry off the buffer and
+ * writing it happen under the character's lock, so two UPDATEs for the same id never
+ * run at once, and {@link #flush(Long)} returns only after any write already in
+ * progress for that id has committed.
+ *
+ * <p>A failed write goes back on the buffer and is retried after the maximum delay,
+ * up to max-attempts writes in all; the changes are then dropped and logged. A
+ * failure during {@link #flush(Long)} is also thrown to the caller, so the request
+ * that needed the flush fails rather than committing ahead of the older changes.
+ */
+@Service
+public class CharacterWriteBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(CharacterWriteBuffer.class);
+    // Locks are striped by id: bounded however many characters are written, and a shared
+    // stripe only makes unrelated characters wait for each other's single UPDATE
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private CharacterPatchService characterPatchService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notes.write-buffer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${notes.write-buffer.window-ms:250}")
+    private long windowMs;
+
+    @Value("${notes.write-buffer.max-delay-ms:2000}")
+    private long maxDelayMs;
+
+    @Value("${notes.write-buffer.max-attempts:3}")
+    private int maxAttempts;
+
+    private final Map<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final AtomicLong writesReceived = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        FunctionCounter.builder("notes.write.buffer.writes", writesReceived, AtomicLong::get)
+                .description("Patches received by the write buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder("notes.write.buffer.flushes", flushes, AtomicLong::get)
+                .description("Buffered changes written by the write buffer")
+                .register(meterRegistry);
+        Gauge.builder("notes.write.buffer.pending", pending, Map::size)
+                .description("Characters with unwritten changes")
+                .register(meterRegistry);
+        Gauge.builder("notes.write.buffer.coalesce.ratio", this, buffer -> buffer.getStats().getCoalesceRatio())
+                .description("Patches received per UPDATE issued")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "character-write-buffer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = Math.max(10, Math.min(windowMs, maxDelayMs) / 2);
+        scheduler.scheduleWithFixedDelay(this::flushDue, tick, tick, TimeUnit.MILLISECONDS);
+        logger.info("Write buffer enabled: window {} ms, max delay {} ms", windowMs, maxDelayMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                // Let a tick that is mid-write finish before the final flush
+                if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                    logger.warn("Write buffer tick still running at shutdown");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enqueue(Long id, Map<CharacterField, Object> changes) {
+        writesReceived.incrementAndGet();
+        long now = System.nanoTime();
+        pending.compute(id, (key, entry) -> {
+            PendingWrite merged = entry != null ? entry : new PendingWrite(now);
+            merged.changes.putAll(changes);
+            merged.lastQueuedNanos = now;
+            return merged;
+        });
+    }
+
+    /**
+     * Writes any pending changes for the character now. Called before a read or a
+     * full load-modify-save so neither sees or overwrites stale values. Waits for a
+     * write of the character already under way on the scheduler.
+     *
+     * @throws IllegalStateException if the pending changes could not be written; they
+     *         stay buffered until they run out of attempts
+     */
+    public void flush(Long id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            PendingWrite entry = pending.remove(id);
+            if (entry != null && !write(id, entry)) {
+                throw new IllegalStateException("Could not write buffered changes for character " + id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Waits for a write of the character under way, so it cannot land after a delete
+    public void discard(Long id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            pending.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flushAll() {
+        for (Long id : pending.keySet()) {
+            try {
+                flush(id);
+            } catch (IllegalStateException e) {
+                // Already logged by write; carry on with the other characters
+            }
+        }
+    }
+
+    public WriteBufferStats getStats() {
+        long writes = writesReceived.get();
+        long flushed = flushes.get();
+        return new WriteBufferStats(writes, flushed, pending.size(), flushed == 0 ? 0.0 : (double) writes / flushed);
+    }
+
+    private void flushDue() {
+        try {
+            long now = System.nanoTime();
+            long window = TimeUnit.MILLISECONDS.toNanos(windowMs);
+            long maxDelay = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+            pending.forEach((id, entry) -> {
+                boolean quiet = now - entry.lastQueuedNanos >= window;
+                boolean overdue = now - entry.firstQueuedNanos >= maxDelay;
+                // A failed write is retried only after the maximum delay, not on every tick
+                if (entry.attempts == 0 ? quiet || overdue : overdue) {
+                    ReentrantLock lock = lockFor(id);
+                    lock.lock();
+                    try {
+                        // A request thread may have flushed it while we waited
+                        if (pending.remove(id, entry)) {
+                            write(id, entry);
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error flushing write buffer", e);
+        }
+    }
+
+    private ReentrantLock lockFor(Long id) {
+        return locks[Math.floorMod(id.hashCode(), locks.length)];
+    }
+
+    // Called with the character's lock held; false if the write failed
+    private boolean write(Long id, PendingWrite entry) {
+        try {
+            if (characterPatchService.apply(id, entry.changes, null)) {
+                flushes.incrementAndGet();
+            } else {
+                logger.warn("Dropped buffered changes for missing character {}", id);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            int attempts = entry.attempts + 1;
+            if (attempts >= maxAttempts) {
+                logger.error("Dropped buffered changes for character {} after {} failed writes: {}",
+                        id, attempts, entry.changes.keySet(), e);
+                return false;
+            }
+            logger.warn("Error writing buffered changes for character {} (attempt {} of {}), requeueing",
+                    id, attempts, maxAttempts, e);
+            // Put the changes back underneath anything queued since, so newer values still win
+            PendingWrite retry = new PendingWrite(System.nanoTime(), attempts);
+            retry.changes.putAll(entry.changes);
+            pending.merge(id, retry, (newer, older) -> {
+                older.changes.forEach(newer.changes::putIfAbsent);
+                newer.attempts = Math.max(newer.attempts, older.attempts);
+                return newer;
+            });
+            return false;
+        }
+    }
+
+    private static class PendingWrite {
+        final Map<CharacterField, Object> changes = new EnumMap<>(CharacterField.class);
+        final long firstQueuedNanos;
+        long lastQueuedNanos;
+        // Failed writes of these changes so far
+        int attempts;
+
+        PendingWrite(long queuedNanos) {
+            this(queuedNanos, 0);
+        }
+
+        PendingWrite(long queuedNanos, int attempts) {
+            this.firstQueuedNanos = queuedNanos;
+            this.lastQueuedNanos = queuedNanos;
+            this.attempts = attempts;
+        }
+    }
+}
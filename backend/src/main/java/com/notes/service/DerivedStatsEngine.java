@@ -0,0 +1,253 @@
+package com.notes.service;
+
+import com.notes.dto.DerivedSheet;
+import com.notes.model.Character;
+import com.notes.model.CharacterClass;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the derived numbers of a character sheet with the web client's rules:
+ * proficiency bonus from level, the eighteen skills with their passive scores,
+ * weapon attack and damage bonuses, initiative and spellcasting. The skills and
+ * weapons columns are read with a streaming parser into int arrays indexed by
+ * skill and ability, without building a JSON tree; only the result is allocated.
+ * {@link CharacterCache} keeps the result per character version.
+ */
+@Component
+public class DerivedStatsEngine {
+    private static final Logger logger = LoggerFactory.getLogger(DerivedStatsEngine.class);
+
+    private static final int STR = 0;
+    private static final int DEX = 1;
+    private static final int CON = 2;
+    private static final int INT = 3;
+    private static final int WIS = 4;
+    private static final int CHA = 5;
+    private static final String[] ABILITIES = {"Strength", "Dexterity", "Constitution", "Intelligence", "Wisdom", "Charisma"};
+
+    private static final String[] SKILLS = {
+            "Athletics",
+            "Acrobatics", "Sleight of Hand", "Stealth",
+            "Arcana", "History", "Investigation", "Nature", "Religion",
+            "Animal Handling", "Insight", "Medicine", "Perception", "Survival",
+            "Deception", "Intimidation", "Performance", "Persuasion"};
+    private static final int[] SKILL_ABILITIES = {
+            STR,
+            DEX, DEX, DEX,
+            INT, INT, INT, INT, INT,
+            WIS, WIS, WIS, WIS, WIS,
+            CHA, CHA, CHA, CHA};
+    private static final int INVESTIGATION = 6;
+    private static final int INSIGHT = 10;
+    private static final int PERCEPTION = 12;
+
+    // Index is the proficiency kind stored in the skills column
+    private static final String[] PROFICIENCIES = {"none", "proficient", "expertise", "jack-of-all-trades"};
+    private static final int PROFICIENT = 1;
+    private static final int EXPERTISE = 2;
+    private static final int JACK_OF_ALL_TRADES = 3;
+
+    private static final Map<String, Integer> SKILL_INDEX = new HashMap<>();
+    // Spellcasting ability of the SRD classes; other classes cast no spells
+    private static final Map<String, Integer> SPELLCASTING = Map.of(
+            "Artificer", INT, "Bard", CHA, "Cleric", WIS, "Druid", WIS, "Paladin", CHA,
+            "Ranger", WIS, "Sorcerer", CHA, "Warlock", CHA, "Wizard", INT);
+
+    static {
+        for (int i = 0; i < SKILLS.length; i++) {
+            SKILL_INDEX.put(SKILLS[i], i);
+        }
+    }
+
+    private final JsonFactory jsonFactory;
+    private final ReferenceCatalog referenceCatalog;
+
+    @Autowired
+    public DerivedStatsEngine(ObjectMapper objectMapper, ReferenceCatalog referenceCatalog) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.referenceCatalog = referenceCatalog;
+    }
+
+    public DerivedSheet compute(Character character) {
+        int[] scores = {
+                score(character.getStrength()), score(character.getDexterity()), score(character.getConstitution()),
+                score(character.getIntelligence()), score(character.getWisdom()), score(character.getCharisma())};
+        // The sheet's own modifiers, so both always agree
+        int[] modifiers = {
+                character.getStrengthModifier(), character.getDexterityModifier(), character.getConstitutionModifier(),
+                character.getIntelligenceModifier(), character.getWisdomModifier(), character.getCharismaModifier()};
+        int level = character.getLevel() != null ? character.getLevel() : 1;
+        int proficiencyBonus = proficiencyBonus(level);
+
+        List<DerivedSheet.Ability> abilities = new ArrayList<>(ABILITIES.length);
+        for (int a = 0; a < ABILITIES.length; a++) {
+            abilities.add(new DerivedSheet.Ability(ABILITIES[a], scores[a], modifiers[a]));
+        }
+
+        int[] proficiency = new int[SKILLS.length];
+        int[] other = new int[SKILLS.length];
+        readSkills(character, proficiency, other);
+        int[] totals = new int[SKILLS.length];
+        List<DerivedSheet.Skill> skills = new ArrayList<>(SKILLS.length);
+        for (int s = 0; s < SKILLS.length; s++) {
+            totals[s] = modifiers[SKILL_ABILITIES[s]] + proficiencyPart(proficiency[s], proficiencyBonus) + other[s];
+            skills.add(new DerivedSheet.Skill(SKILLS[s], ABILITIES[SKILL_ABILITIES[s]], PROFICIENCIES[proficiency[s]],
+                    totals[s], 10 + totals[s]));
+        }
+
+        List<DerivedSheet.WeaponAttack> weapons = readWeapons(character, modifiers, proficiencyBonus);
+
+        DerivedSheet.Spellcasting spellcasting = null;
+        CharacterClass characterClass = character.getClassId() != null
+                ? referenceCatalog.getSnapshot().getClasses().get(character.getClassId())
+                : null;
+        Integer spellAbility = characterClass != null ? SPELLCASTING.get(characterClass.getName()) : null;
+        if (spellAbility != null) {
+            int attack = proficiencyBonus + modifiers[spellAbility];
+            spellcasting = new DerivedSheet.Spellcasting(ABILITIES[spellAbility], 8 + attack, attack);
+        }
+
+        return new DerivedSheet(character.getId(), character.getVersion(), level, proficiencyBonus, modifiers[DEX],
+                abilities, skills, 10 + totals[PERCEPTION], 10 + totals[INSIGHT], 10 + totals[INVESTIGATION],
+                weapons, spellcasting);
+    }
+
+    public static int proficiencyBonus(int level) {
+        return (level - 1) / 4 + 2;
+    }
+
+    private static int score(Integer value) {
+        return value != null ? value : 10;
+    }
+
+    private static int proficiencyPart(int kind, int proficiencyBonus) {
+        return switch (kind) {
+            case PROFICIENT -> proficiencyBonus;
+            case EXPERTISE -> proficiencyBonus * 2;
+            case JACK_OF_ALL_TRADES -> proficiencyBonus / 2;
+            default -> 0;
+        };
+    }
+
+    private static int proficiencyKind(String value) {
+        for (int k = 0; k < PROFICIENCIES.length; k++) {
+            if (PROFICIENCIES[k].equals(value)) {
+                return k;
+            }
+        }
+        return 0;
+    }
+
+    // Skills missing from the column count as not proficient with no other bonus
+    private void readSkills(Character character, int[] proficiency, int[] other) {
+        if (character.getSkills() == null) {
+            return;
+        }
+        try (JsonParser parser = jsonFactory.createParser(character.getSkills())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int skill = -1;
+                int kind = 0;
+                int bonus = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (parser.nextToken().isStructStart()) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    switch (field) {
+                        case "name" -> skill = SKILL_INDEX.getOrDefault(parser.getValueAsString(), -1);
+                        case "proficiency" -> kind = proficiencyKind(parser.getValueAsString());
+                        case "other" -> bonus = parser.getValueAsInt(0);
+                        default -> {
+                        }
+                    }
+                }
+                if (skill >= 0) {
+                    proficiency[skill] = kind;
+                    other[skill] = bonus;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read skills of character {}: {}", character.getId(), e.getMessage());
+        }
+    }
+
+    private List<DerivedSheet.WeaponAttack> readWeapons(Character character, int[] modifiers, int proficiencyBonus) {
+        List<DerivedSheet.WeaponAttack> weapons = new ArrayList<>();
+        if (character.getWeapons() == null) {
+            return weapons;
+        }
+        try (JsonParser parser = jsonFactory.createParser(character.getWeapons())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return weapons;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String id = null;
+                String name = null;
+                String damageDice = null;
+                int statModifier = 0;
+                boolean proficient = false;
+                boolean plusStat = false;
+                int magicBonus = 0;
+                int critOn = 20;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (parser.nextToken().isStructStart()) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    switch (field) {
+                        case "id" -> id = parser.getValueAsString();
+                        case "name" -> name = parser.getValueAsString();
+                        case "damageDice" -> damageDice = parser.getValueAsString();
+                        case "stat" -> statModifier = statModifier(parser.getValueAsString(), modifiers);
+                        case "proficient" -> proficient = parser.getValueAsBoolean();
+                        case "plusStat" -> plusStat = parser.getValueAsBoolean();
+                        case "magicBonus" -> magicBonus = parser.getValueAsInt(0);
+                        case "critOn" -> critOn = parser.getValueAsInt(20);
+                        default -> {
+                        }
+                    }
+                }
+                int attackBonus = (proficient ? proficiencyBonus : 0) + statModifier + magicBonus;
+                int damageBonus = magicBonus + (plusStat ? statModifier : 0);
+                weapons.add(new DerivedSheet.WeaponAttack(id, name, attackBonus, damageBonus, damageDice, critOn));
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read weapons of character {}: {}", character.getId(), e.getMessage());
+        }
+        return weapons;
+    }
+
+    // Finesse weapons use the better of Strength and Dexterity
+    private static int statModifier(String stat, int[] modifiers) {
+        if (stat == null) {
+            return 0;
+        }
+        return switch (stat) {
+            case "STR" -> modifiers[STR];
+            case "DEX" -> modifiers[DEX];
+            case "CON" -> modifiers[CON];
+            case "INT" -> modifiers[INT];
+            case "WIS" -> modifiers[WIS];
+            case "CHA" -> modifiers[CHA];
+            case "Finesse" -> Math.max(modifiers[STR], modifiers[DEX]);
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,276 @@
+package com.notes.service;
+
+import com.notes.dto.RollResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * A roll expression compiled once into parallel int arrays, one slot per term, and
+ * evaluated any number of times against a character's bindings. Terms are joined
+ * by + or -: dice ({@code 2d6}, {@code d20}, {@code 2d20kh1} for advantage,
+ * {@code 2d20kl1} for disadvantage), whole numbers, ability modifiers
+ * (STR, DEX, CON, INT, WIS, CHA), PB for the proficiency bonus and LEVEL.
+ * A binding can also be the number of dice, written {@code PBd4} or {@code (PB)d4};
+ * it is resolved on each roll, and a count below zero rolls no dice.
+ * Instances are immutable and shared between threads.
+ */
+public final class DiceExpression {
+    public static final int MAX_LENGTH = 100;
+    private static final int MAX_TERMS = 20;
+    private static final int MAX_DICE = 100;
+    private static final int MAX_TOTAL_DICE = 500;
+    private static final int MAX_SIDES = 1000;
+    private static final int MAX_CONSTANT = 10000;
+
+    // Slots of the bindings array passed to roll()
+    public static final String[] BINDINGS = {"STR", "DEX", "CON", "INT", "WIS", "CHA", "PB", "LEVEL"};
+    public static final int PROFICIENCY_BONUS = 6;
+    public static final int LEVEL = 7;
+    public static final int BINDING_COUNT = BINDINGS.length;
+
+    private static final int DICE = 0;
+    private static final int CONSTANT = 1;
+    private static final int BINDING = 2;
+
+    private final String source;
+    private final int[] kinds;
+    // +1 or -1
+    private final int[] signs;
+    // Dice: count; constant: value; binding: slot
+    private final int[] values;
+    // Dice: binding slot of the count, or -1 when the count is in values
+    private final int[] countBindings;
+    private final int[] sides;
+    // Dice kept, highest when positive and lowest when negative; 0 keeps all
+    private final int[] keep;
+
+    private DiceExpression(String source, int[] kinds, int[] signs, int[] values, int[] countBindings,
+                           int[] sides, int[] keep) {
+        this.source = source;
+        this.kinds = kinds;
+        this.signs = signs;
+        this.values = values;
+        this.countBindings = countBindings;
+        this.sides = sides;
+        this.keep = keep;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is empty, too long or malformed
+     */
+    public static DiceExpression compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Roll expression cannot be empty");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Roll expression cannot be longer than " + MAX_LENGTH + " characters");
+        }
+        String text = expression.replaceAll("\\s+", "").toUpperCase(Locale.ROOT);
+
+        int[] kinds = new int[MAX_TERMS];
+        int[] signs = new int[MAX_TERMS];
+        int[] values = new int[MAX_TERMS];
+        int[] countBindings = new int[MAX_TERMS];
+        int[] sides = new int[MAX_TERMS];
+        int[] keep = new int[MAX_TERMS];
+        int terms = 0;
+        int totalDice = 0;
+        int pos = 0;
+        while (pos < text.length()) {
+            int sign = 1;
+            char c = text.charAt(pos);
+            if (c == '+' || c == '-') {
+                sign = c == '-' ? -1 : 1;
+                pos++;
+            } else if (terms > 0) {
+                throw malformed(expression, "expected + or - at position " + (pos + 1));
+            }
+            if (terms == MAX_TERMS) {
+                throw new IllegalArgumentException("Roll expression cannot have more than " + MAX_TERMS + " terms");
+            }
+            signs[terms] = sign;
+
+            int start = pos;
+            if (pos < text.length() && text.charAt(pos) == '(') {
+                pos = text.indexOf(')', pos) + 1;
+                if (pos == 0) {
+                    throw malformed(expression, "missing ) for ( at position " + (start + 1));
+                }
+            }
+            while (pos < text.length() && Character.isLetterOrDigit(text.charAt(pos))) {
+                pos++;
+            }
+            String term = text.substring(start, pos);
+            if (term.isEmpty()) {
+                throw malformed(expression, "missing term at position " + (start + 1));
+            }
+            int binding = binding(term);
+            if (binding >= 0) {
+                kinds[terms] = BINDING;
+                values[terms] = binding;
+            } else if (Character.isDigit(term.charAt(0)) && term.chars().allMatch(Character::isDigit)) {
+                kinds[terms] = CONSTANT;
+                values[terms] = number(expression, term, MAX_CONSTANT);
+            } else {
+                // A count binding, parenthesised or not, leaves the dice after it
+                int countBinding = -1;
+                int d;
+                if (term.charAt(0) == '(') {
+                    d = term.indexOf(')') + 1;
+                    countBinding = binding(term.substring(1, d - 1));
+                    if (countBinding < 0) {
+                        throw malformed(expression, "unknown dice count " + term.substring(1, d - 1) + " at position " + (start + 2));
+                    }
+                    if (d == term.length() || term.charAt(d) != 'D') {
+                        throw malformed(expression, "expected d after ) at position " + (start + d + 1));
+                    }
+                } else {
+                    d = term.indexOf('D');
+                    for (int b = 0; b < BINDINGS.length && countBinding < 0; b++) {
+                        if (term.startsWith(BINDINGS[b] + "D")) {
+                            countBinding = b;
+                            d = BINDINGS[b].length();
+                        }
+                    }
+                }
+                if (d < 0) {
+                    throw malformed(expression, "unknown term " + term + " at position " + (start + 1));
+                }
+                int k = term.indexOf('K', d);
+                // A bound count is only known when rolling; it is capped at MAX_DICE then
+                int count = countBinding >= 0 ? MAX_DICE : d == 0 ? 1 : number(expression, term.substring(0, d), MAX_DICE);
+                int faces = number(expression, k < 0 ? term.substring(d + 1) : term.substring(d + 1, k), MAX_SIDES);
+                int kept = 0;
+                if (k >= 0) {
+                    if (k + 1 == term.length() || (term.charAt(k + 1) != 'H' && term.charAt(k + 1) != 'L')) {
+                        throw malformed(expression, "keep must be kh or kl in " + term.toLowerCase(Locale.ROOT));
+                    }
+                    kept = number(expression, term.substring(k + 2), count);
+                    if (kept == 0) {
+                        throw malformed(expression, "must keep at least one die in " + term.toLowerCase(Locale.ROOT));
+                    }
+                    if (term.charAt(k + 1) == 'L') {
+                        kept = -kept;
+                    }
+                }
+                if (count < 1 || faces < 1) {
+                    throw malformed(expression, "dice need a count and sides of at least 1 in " + term.toLowerCase(Locale.ROOT));
+                }
+                totalDice += count;
+                if (totalDice > MAX_TOTAL_DICE) {
+                    throw new IllegalArgumentException("Roll expression cannot roll more than " + MAX_TOTAL_DICE + " dice");
+                }
+                kinds[terms] = DICE;
+                values[terms] = countBinding >= 0 ? 0 : count;
+                countBindings[terms] = countBinding;
+                sides[terms] = faces;
+                keep[terms] = kept;
+            }
+            terms++;
+        }
+        if (terms == 0) {
+            throw new IllegalArgumentException("Roll expression cannot be empty");
+        }
+        return new DiceExpression(expression.trim(), Arrays.copyOf(kinds, terms), Arrays.copyOf(signs, terms),
+                Arrays.copyOf(values, terms), Arrays.copyOf(countBindings, terms), Arrays.copyOf(sides, terms),
+                Arrays.copyOf(keep, terms));
+    }
+
+    private static int binding(String name) {
+        return Arrays.asList(BINDINGS).indexOf(name);
+    }
+
+    private static int number(String expression, String digits, int max) {
+        if (digits.isEmpty() || digits.length() > 5 || !digits.chars().allMatch(Character::isDigit)) {
+            throw malformed(expression, "expected a number instead of '" + digits + "'");
+        }
+        int value = Integer.parseInt(digits);
+        if (value > max) {
+            throw malformed(expression, value + " is larger than " + max);
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException malformed(String expression, String reason) {
+        return new IllegalArgumentException("Invalid roll expression '" + expression + "': " + reason);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Rolls the expression once.
+     *
+     * @param bindings modifiers indexed as {@link #BINDINGS}
+     */
+    public RollResult.Roll roll(int[] bindings, SplittableRandom random) {
+        int total = 0;
+        List<RollResult.Term> terms = new ArrayList<>(kinds.length);
+        for (int t = 0; t < kinds.length; t++) {
+            int value;
+            int[] rolls = null;
+            String name;
+            switch (kinds[t]) {
+                case DICE -> {
+                    int count = countBindings[t] < 0 ? values[t]
+                            : Math.max(0, Math.min(MAX_DICE, bindings[countBindings[t]]));
+                    rolls = new int[count];
+                    for (int i = 0; i < rolls.length; i++) {
+                        rolls[i] = random.nextInt(sides[t]) + 1;
+                    }
+                    value = keep[t] == 0 ? sum(rolls) : kept(rolls, keep[t]);
+                    name = dice(t);
+                }
+                case CONSTANT -> {
+                    value = values[t];
+                    name = Integer.toString(value);
+                }
+                default -> {
+                    value = bindings[values[t]];
+                    name = BINDINGS[values[t]];
+                }
+            }
+            total += signs[t] * value;
+            terms.add(new RollResult.Term((signs[t] < 0 ? "-" : "+") + name, rolls, signs[t] * value));
+        }
+        return new RollResult.Roll(total, terms);
+    }
+
+    private String dice(int t) {
+        String name = (countBindings[t] < 0 ? Integer.toString(values[t]) : BINDINGS[countBindings[t]]) + "d" + sides[t];
+        if (keep[t] > 0) {
+            return name + "kh" + keep[t];
+        }
+        return keep[t] < 0 ? name + "kl" + -keep[t] : name;
+    }
+
+    private static int sum(int[] rolls) {
+        int sum = 0;
+        for (int roll : rolls) {
+            sum += roll;
+        }
+        return sum;
+    }
+
+    // Sum of the highest (keep > 0) or lowest (keep < 0) dice, all of them when a bound
+    // count rolled fewer; the rolls keep their order
+    private static int kept(int[] rolls, int keep) {
+        int[] sorted = rolls.clone();
+        Arrays.sort(sorted);
+        int sum = 0;
+        if (keep > 0) {
+            for (int i = Math.max(0, sorted.length - keep); i < sorted.length; i++) {
+                sum += sorted[i];
+            }
+        } else {
+            for (int i = 0; i < Math.min(-keep, sorted.length); i++) {
+                sum += sorted[i];
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,148 @@
+package com.notes.service;
+
+import com.notes.dto.RollResult;
+import com.notes.model.Character;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Rolls dice expressions for a character and keeps the latest rolls of each one.
+ *
+ * <p>Expressions are compiled once and reused by every character, bound on each roll
+ * to the character's ability modifiers, proficiency bonus and level from the cached
+ * row. Each thread rolls with its own {@link SplittableRandom}, split from a single
+ * seeded generator, so concurrent rolls never contend on a shared one. The history is
+ * a fixed ring buffer per character, held in memory only: it is lost on restart and
+ * each instance keeps its own.
+ */
+@Service
+public class DiceRoller {
+    public static final int MAX_TIMES = 100;
+
+    private static final SplittableRandom SEED = new SplittableRandom();
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(DiceRoller::split);
+
+    @Autowired
+    private CharacterCache characterCache;
+
+    @Value("${notes.dice.history-size:50}")
+    private int historySize;
+
+    @Value("${notes.dice.max-characters:10000}")
+    private long maxCharacters;
+
+    @Value("${notes.dice.max-expressions:1000}")
+    private long maxExpressions;
+
+    private Cache<String, DiceExpression> expressions;
+    private Cache<Long, History> histories;
+
+    @PostConstruct
+    public void start() {
+        expressions = Caffeine.newBuilder().maximumSize(maxExpressions).build();
+        histories = Caffeine.newBuilder()
+                .maximumSize(maxCharacters)
+                .expireAfterAccess(Duration.ofHours(12))
+                .build();
+    }
+
+    private static synchronized SplittableRandom split() {
+        return SEED.split();
+    }
+
+    /**
+     * Rolls the expression {@code times} times for the character and records the result.
+     *
+     * @return empty if the character does not exist
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public Optional<RollResult> roll(Long id, String expression, String label, int times) {
+        // Compile before loading so a bad expression fails without touching the database
+        DiceExpression compiled = compile(expression);
+        Optional<Character> character = characterCache.findCharacter(id);
+        if (character.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int[] bindings = bindings(character.get());
+        SplittableRandom random = RANDOM.get();
+        List<RollResult.Roll> rolls = new ArrayList<>(times);
+        for (int i = 0; i < times; i++) {
+            rolls.add(compiled.roll(bindings, random));
+        }
+        RollResult result = new RollResult(id, compiled.getSource(), label, rolls, Instant.now());
+        histories.get(id, key -> new History(historySize)).add(result);
+        return Optional.of(result);
+    }
+
+    /**
+     * The character's recorded rolls, newest first.
+     */
+    public List<RollResult> history(Long id) {
+        History history = histories.getIfPresent(id);
+        return history != null ? history.newestFirst() : List.of();
+    }
+
+    public void forget(Long id) {
+        histories.invalidate(id);
+    }
+
+    private DiceExpression compile(String expression) {
+        if (expression == null || expression.length() > DiceExpression.MAX_LENGTH) {
+            // Not worth a cache slot; compile throws the message
+            return DiceExpression.compile(expression);
+        }
+        return expressions.get(expression, DiceExpression::compile);
+    }
+
+    private static int[] bindings(Character character) {
+        int level = character.getLevel() != null ? character.getLevel() : 1;
+        int[] bindings = new int[DiceExpression.BINDING_COUNT];
+        bindings[0] = character.getStrengthModifier();
+        bindings[1] = character.getDexterityModifier();
+        bindings[2] = character.getConstitutionModifier();
+        bindings[3] = character.getIntelligenceModifier();
+        bindings[4] = character.getWisdomModifier();
+        bindings[5] = character.getCharismaModifier();
+        bindings[DiceExpression.PROFICIENCY_BONUS] = DerivedStatsEngine.proficiencyBonus(level);
+        bindings[DiceExpression.LEVEL] = level;
+        return bindings;
+    }
+
+    // Keeps the latest results; the oldest is overwritten once full
+    private static class History {
+        private final RollResult[] results;
+        private int next;
+        private int size;
+
+        History(int capacity) {
+            this.results = new RollResult[capacity];
+        }
+
+        synchronized void add(RollResult result) {
+            results[next] = result;
+            next = (next + 1) % results.length;
+            if (size < results.length) {
+                size++;
+            }
+        }
+
+        synchronized List<RollResult> newestFirst() {
+            List<RollResult> list = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                list.add(results[(next - i + results.length) % results.length]);
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.notes.service;
+
+import com.notes.config.CatalogVersion;
+import com.notes.model.Background;
+import com.notes.model.CharacterClass;
+import com.notes.model.Species;
+import com.notes.repository.BackgroundRepository;
+import com.notes.repository.CharacterClassRepository;
+import com.notes.repository.SpeciesRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory copy of the species, background and class catalog.
+ * The catalog is loaded from the database once, after seeding, and serialized
+ * up front so the catalog endpoints can hand out the same bytes on every request.
+ */
+@Service
+public class ReferenceCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceCatalog.class);
+
+    @Autowired
+    private SpeciesRepository speciesRepository;
+
+    @Autowired
+    private BackgroundRepository backgroundRepository;
+
+    @Autowired
+    private CharacterClassRepository characterClassRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @org.springframework.beans.factory.annotation.Value("${notes.catalog.load-timeout-ms:30000}")
+    private long loadTimeoutMs;
+
+    // Not synchronized: a virtual thread blocking on JDBC inside a monitor pins its
+    // carrier thread, a lock does not
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final CountDownLatch loaded = new CountDownLatch(1);
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Returns the loaded catalog, waiting for {@link CatalogSeeder} to load it first
+     * if a request arrives while the catalog is still being seeded.
+     *
+     * @throws IllegalStateException if the catalog is not loaded within the timeout
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            try {
+                loaded.await(loadTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            current = snapshot;
+            if (current == null) {
+                throw new IllegalStateException("Reference catalog is not loaded yet");
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Rebuilds the snapshot if the catalog version differs from the loaded one.
+     */
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            rebuild();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        String version = CatalogVersion.current();
+        if (snapshot != null && snapshot.getVersion().equals(version)) {
+            logger.info("Reference catalog already at version {}, skipping rebuild", version);
+            return;
+        }
+
+        List<Species> species = List.copyOf(speciesRepository.findAllWithTraits());
+        List<Background> backgrounds = List.copyOf(backgroundRepository.findAllWithFeatures());
+        List<CharacterClass> classes = List.copyOf(characterClassRepository.findAllWithFeatures());
+
+        try {
+            snapshot = new Snapshot(
+                    version,
+                    index(species, Species::getId),
+                    index(backgrounds, Background::getId),
+                    index(classes, CharacterClass::getId),
+                    nodes(species, Species::getId),
+                    nodes(backgrounds, Background::getId),
+                    nodes(classes, CharacterClass::getId),
+                    objectMapper.writeValueAsBytes(species),
+                    objectMapper.writeValueAsBytes(backgrounds),
+                    objectMapper.writeValueAsBytes(classes));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize reference catalog", e);
+        }
+        loaded.countDown();
+        logger.info("Loaded reference catalog version {}: {} species, {} backgrounds, {} classes",
+                version, species.size(), backgrounds.size(), classes.size());
+    }
+
+    private static <T> Map<UUID, T> index(List<T> entries, Function<T, UUID> id) {
+        return entries.stream().collect(Collectors.collectingAndThen(
+                Collectors.toMap(id, Function.identity(), (first, second) -> first),
+                Map::copyOf));
+    }
+
+    private <T> Map<UUID, JsonNode> nodes(List<T> entries, Function<T, UUID> id) {
+        return entries.stream().collect(Collectors.collectingAndThen(
+                Collectors.toMap(id, entry -> (JsonNode) objectMapper.valueToTree(entry), (first, second) -> first),
+                Map::copyOf));
+    }
+
+    // The per-entry JSON trees are shared between responses and must not be modified
+    @Value
+    public static class Snapshot {
+        String version;
+        Map<UUID, Species> species;
+        Map<UUID, Background> backgrounds;
+        Map<UUID, CharacterClass> classes;
+        Map<UUID, JsonNode> speciesNodes;
+        Map<UUID, JsonNode> backgroundNodes;
+        Map<UUID, JsonNode> classNodes;
+        byte[] speciesJson;
+        byte[] backgroundsJson;
+        byte[] classesJson;
+    }
+}
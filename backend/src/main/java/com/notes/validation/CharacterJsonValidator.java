@@ -0,0 +1,163 @@
+package com.notes.validation;
+
+import com.notes.model.CharacterField;
+import com.notes.validation.JsonSchema.ValueType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Checks the JSON columns of a character against their schema in a single pass
+ * over the parser's token stream, without building a tree. Payloads longer than
+ * the configured limit are rejected before parsing starts.
+ */
+@Component
+public class CharacterJsonValidator {
+    private static final Map<CharacterField, JsonSchema> SCHEMAS = new EnumMap<>(CharacterField.class);
+
+    static {
+        SCHEMAS.put(CharacterField.COINS, JsonSchema.object(ValueType.NUMBER));
+        SCHEMAS.put(CharacterField.ITEMS, JsonSchema.arrayOfObjects()
+                .optional("id", ValueType.STRING)
+                .optional("name", ValueType.STRING));
+        SCHEMAS.put(CharacterField.DETAILS, JsonSchema.object(ValueType.STRING));
+        SCHEMAS.put(CharacterField.SKILLS, JsonSchema.arrayOfObjects()
+                .required("name", ValueType.STRING)
+                .optional("ability", ValueType.STRING)
+                .optional("proficiency", ValueType.STRING)
+                .optional("other", ValueType.NUMBER));
+        SCHEMAS.put(CharacterField.CLASS_ACTIONS, JsonSchema.arrayOfObjects()
+                .optional("id", ValueType.STRING)
+                .optional("name", ValueType.STRING));
+        SCHEMAS.put(CharacterField.SPELL_SLOTS, JsonSchema.arrayOfObjects()
+                .required("level", ValueType.NUMBER)
+                .required("used", ValueType.NUMBER)
+                .required("max", ValueType.NUMBER));
+        SCHEMAS.put(CharacterField.SPELLS, JsonSchema.arrayOfObjects()
+                .optional("id", ValueType.STRING)
+                .optional("name", ValueType.STRING)
+                .optional("concentration", ValueType.BOOLEAN)
+                .optional("ritual", ValueType.BOOLEAN)
+                .optional("verbal", ValueType.BOOLEAN)
+                .optional("somatic", ValueType.BOOLEAN)
+                .optional("material", ValueType.BOOLEAN));
+        SCHEMAS.put(CharacterField.WEAPONS, JsonSchema.arrayOfObjects()
+                .optional("id", ValueType.STRING)
+                .optional("name", ValueType.STRING)
+                .optional("proficient", ValueType.BOOLEAN)
+                .optional("plusStat", ValueType.BOOLEAN));
+    }
+
+    private final JsonFactory jsonFactory;
+    private final int maxFieldLength;
+
+    @Autowired
+    public CharacterJsonValidator(ObjectMapper objectMapper,
+                                  @Value("${notes.json.max-field-length:262144}") int maxFieldLength) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is too long, malformed, or does not match the schema
+     */
+    public void validate(CharacterField field, String json) {
+        JsonSchema schema = SCHEMAS.get(field);
+        if (schema == null) {
+            throw new IllegalArgumentException(field.getLabel() + " is not a JSON field");
+        }
+        String prefix = "Invalid " + field.getLabel().toLowerCase() + " JSON format: ";
+        if (json.length() > maxFieldLength) {
+            throw new IllegalArgumentException(prefix + "value exceeds " + maxFieldLength + " characters");
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            String error = check(parser, schema);
+            if (error != null) {
+                throw new IllegalArgumentException(prefix + error);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(prefix + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(prefix + e.getMessage());
+        }
+    }
+
+    private static String check(JsonParser parser, JsonSchema schema) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (schema.getRoot() == JsonSchema.Root.OBJECT) {
+            if (token != JsonToken.START_OBJECT) {
+                return "expected an object";
+            }
+            String error = checkObject(parser, schema, -1);
+            if (error != null) {
+                return error;
+            }
+        } else {
+            if (token != JsonToken.START_ARRAY) {
+                return "expected an array";
+            }
+            int index = 0;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    return "element " + index + " must be an object";
+                }
+                String error = checkObject(parser, schema, index++);
+                if (error != null) {
+                    return error;
+                }
+            }
+        }
+        return parser.nextToken() == null ? null : "unexpected content after the value";
+    }
+
+    private static String checkObject(JsonParser parser, JsonSchema schema, int index) throws IOException {
+        int seen = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            ValueType type = schema.typeOf(name);
+            if (!matches(value, type)) {
+                String where = index < 0 ? "\"" + name + "\"" : "element " + index + " \"" + name + "\"";
+                return where + " must be " + describe(type);
+            }
+            if (value != JsonToken.VALUE_NULL) {
+                seen |= schema.requiredBit(name);
+            }
+        }
+        if (seen != schema.getRequiredMask()) {
+            String where = index < 0 ? "" : "element " + index + " ";
+            return where + "is missing \"" + schema.missingMember(seen) + "\"";
+        }
+        return null;
+    }
+
+    private static boolean matches(JsonToken token, ValueType type) {
+        if (token == JsonToken.VALUE_NULL) {
+            return true;
+        }
+        return switch (type) {
+            case STRING -> token == JsonToken.VALUE_STRING;
+            case NUMBER -> token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+            case BOOLEAN -> token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE;
+            case SCALAR -> token.isScalarValue();
+        };
+    }
+
+    private static String describe(ValueType type) {
+        return switch (type) {
+            case STRING -> "a string";
+            case NUMBER -> "a number";
+            case BOOLEAN -> "a boolean";
+            case SCALAR -> "a string, number or boolean";
+        };
+    }
+}
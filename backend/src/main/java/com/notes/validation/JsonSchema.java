@@ -0,0 +1,74 @@
+package com.notes.validation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flat shape of a character JSON column: either an object, or an array of objects,
+ * whose members are scalars. Declared members are type checked; any other member
+ * must still be a scalar so nesting depth stays bounded.
+ */
+public class JsonSchema {
+    public enum Root { OBJECT, ARRAY_OF_OBJECTS }
+
+    public enum ValueType { STRING, NUMBER, BOOLEAN, SCALAR }
+
+    private final Root root;
+    private final ValueType otherMembers;
+    private final Map<String, ValueType> types = new HashMap<>();
+    private final Map<String, Integer> requiredBits = new HashMap<>();
+    private int requiredMask;
+
+    private JsonSchema(Root root, ValueType otherMembers) {
+        this.root = root;
+        this.otherMembers = otherMembers;
+    }
+
+    public static JsonSchema object(ValueType otherMembers) {
+        return new JsonSchema(Root.OBJECT, otherMembers);
+    }
+
+    public static JsonSchema arrayOfObjects() {
+        return new JsonSchema(Root.ARRAY_OF_OBJECTS, ValueType.SCALAR);
+    }
+
+    public JsonSchema optional(String name, ValueType type) {
+        types.put(name, type);
+        return this;
+    }
+
+    public JsonSchema required(String name, ValueType type) {
+        if (requiredBits.size() == Integer.SIZE) {
+            throw new IllegalStateException("Too many required members");
+        }
+        int bit = 1 << requiredBits.size();
+        types.put(name, type);
+        requiredBits.put(name, bit);
+        requiredMask |= bit;
+        return this;
+    }
+
+    Root getRoot() {
+        return root;
+    }
+
+    ValueType typeOf(String name) {
+        return types.getOrDefault(name, otherMembers);
+    }
+
+    int requiredBit(String name) {
+        return requiredBits.getOrDefault(name, 0);
+    }
+
+    int getRequiredMask() {
+        return requiredMask;
+    }
+
+    String missingMember(int seen) {
+        return requiredBits.entrySet().stream()
+                .filter(entry -> (seen & entry.getValue()) == 0)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,77 @@
+-- Schema as mapped by the entities at the time migrations were introduced.
+-- Hibernate only validates it (ddl-auto=validate); change it with a new migration.
+
+CREATE TABLE species (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE trait (
+    id UUID PRIMARY KEY,
+    species_id UUID NOT NULL REFERENCES species (id),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(3000) NOT NULL
+);
+
+CREATE TABLE background (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(1000)
+);
+
+CREATE TABLE background_feature (
+    id UUID PRIMARY KEY,
+    background_id UUID NOT NULL REFERENCES background (id),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(3000) NOT NULL
+);
+
+CREATE TABLE character_class (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(1000),
+    hit_die VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE class_feature (
+    id UUID PRIMARY KEY,
+    class_id UUID NOT NULL REFERENCES character_class (id),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(5000) NOT NULL,
+    level INTEGER NOT NULL
+);
+
+CREATE TABLE character (
+    id BIGSERIAL PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    name VARCHAR(255) NOT NULL,
+    species_id UUID NOT NULL REFERENCES species (id),
+    background_id UUID NOT NULL REFERENCES background (id),
+    class_id UUID NOT NULL REFERENCES character_class (id),
+    level INTEGER NOT NULL DEFAULT 1,
+    temporary_hp INTEGER NOT NULL DEFAULT 0,
+    current_hp INTEGER NOT NULL DEFAULT 0,
+    max_hp INTEGER NOT NULL DEFAULT 0,
+    speed INTEGER NOT NULL DEFAULT 0,
+    strength INTEGER NOT NULL DEFAULT 0,
+    dexterity INTEGER NOT NULL DEFAULT 0,
+    constitution INTEGER NOT NULL DEFAULT 0,
+    intelligence INTEGER NOT NULL DEFAULT 0,
+    wisdom INTEGER NOT NULL DEFAULT 0,
+    charisma INTEGER NOT NULL DEFAULT 0,
+    coins JSONB DEFAULT '{"platinum":0,"gold":0,"electrum":0,"silver":0,"copper":0}',
+    items JSONB DEFAULT '[]',
+    details JSONB DEFAULT '{"background":"","classFeatures":"","speciesFeatures":"","otherFeatures":"","notes":"","connections":""}',
+    skills JSONB DEFAULT '[]',
+    class_actions JSONB DEFAULT '[]',
+    spell_slots JSONB DEFAULT '[]',
+    spells JSONB DEFAULT '[]',
+    weapons JSONB DEFAULT '[]',
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Checksum of the catalog last seeded by CatalogSeeder; one row at most
+CREATE TABLE catalog_seed (
+    checksum VARCHAR(64) PRIMARY KEY,
+    seeded_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,18 @@
+-- Postgres does not index foreign key columns by itself. The character ones are
+-- used by the summary joins, the feature ones by the catalog fetch joins and by
+-- CatalogSeeder replacing features.
+CREATE INDEX idx_character_species_id ON character (species_id);
+CREATE INDEX idx_character_background_id ON character (background_id);
+CREATE INDEX idx_character_class_id ON character (class_id);
+CREATE INDEX idx_trait_species_id ON trait (species_id);
+CREATE INDEX idx_background_feature_background_id ON background_feature (background_id);
+CREATE INDEX idx_class_feature_class_id ON class_feature (class_id);
+
+-- Character lookups by name and listings by creation time
+CREATE INDEX idx_character_name ON character (name);
+CREATE INDEX idx_character_created_at ON character (created_at);
+
+-- GIN indexes for containment (@>) queries on the character JSONB columns.
+-- jsonb_path_ops only supports @> but is smaller and faster than the default opclass.
+CREATE INDEX idx_character_items_gin ON character USING GIN (items jsonb_path_ops);
+CREATE INDEX idx_character_spells_gin ON character USING GIN (spells jsonb_path_ops);
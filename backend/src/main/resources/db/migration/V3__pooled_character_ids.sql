@@ -0,0 +1,3 @@
+-- Character ids come from a pooled sequence (allocationSize = 50 on Character.id);
+-- the increment must match so each nextval reserves a block of 50 ids
+ALTER SEQUENCE character_id_seq INCREMENT BY 50;
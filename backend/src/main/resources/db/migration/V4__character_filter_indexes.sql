@@ -0,0 +1,18 @@
+-- Indexes for the filtered character listing (GET /api/characters with name,
+-- classId, speciesId, minLevel and sort).
+
+-- Substring name matches: LOWER(name) LIKE '%...%' is answered from trigrams
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_character_name_trgm ON character USING GIN (lower(name) gin_trgm_ops);
+
+-- Class or species filters with a level floor, ordered by level then id. These
+-- lead with the columns of the single-column indexes from V2, which they replace.
+CREATE INDEX idx_character_class_level ON character (class_id, level, id);
+CREATE INDEX idx_character_species_level ON character (species_id, level, id);
+DROP INDEX idx_character_class_id;
+DROP INDEX idx_character_species_id;
+
+-- Keyset pages in name or level order continue from a (value, id) pair
+CREATE INDEX idx_character_name_id ON character (name, id);
+DROP INDEX idx_character_name;
+CREATE INDEX idx_character_level_id ON character (level, id);
@@ -0,0 +1,195 @@
+package com.notes.controller;
+
+import com.notes.support.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"notes.seed.async=false", "notes.seed.debug-character=false"})
+@AutoConfigureMockMvc
+class CharacterControllerTest {
+    private static final String ITEMS = "[{\"id\":\"rope\",\"name\":\"Rope\",\"quantity\":1}]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, "character_controller");
+    }
+
+    private long createCharacter() {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO character (name, species_id, background_id, class_id) VALUES ('Ana', " +
+                "(SELECT id FROM species ORDER BY name LIMIT 1), (SELECT id FROM background ORDER BY name LIMIT 1), " +
+                "(SELECT id FROM character_class ORDER BY name LIMIT 1)) RETURNING id", Long.class);
+    }
+
+    // A write made by another instance: the row changes, but this instance's cache is not told
+    private void writeElsewhere(long id, int currentHp) {
+        jdbcTemplate.update("UPDATE character SET current_hp = ?, version = version + 1 WHERE id = ?", currentHp, id);
+    }
+
+    private long version(long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM character WHERE id = ?", Long.class, id);
+    }
+
+    private static MockHttpServletRequestBuilder putItems(long id, String items) {
+        return put("/api/characters/{id}/inventory", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":\"" + items.replace("\"", "\\\"") + "\"}");
+    }
+
+    private static String eTag(long id, long version) {
+        return "W/\"" + id + "." + version + "\"";
+    }
+
+    @Test
+    void writesWhenIfMatchHasTheCurrentVersion() throws Exception {
+        long id = createCharacter();
+
+        mockMvc.perform(putItems(id, ITEMS).header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"" + id + ".1.")))
+                .andExpect(jsonPath("$.version").value(1));
+
+        assertThat(version(id)).isEqualTo(1);
+    }
+
+    @Test
+    void refusesAStaleIfMatchWithTheConflict() throws Exception {
+        long id = createCharacter();
+        mockMvc.perform(putItems(id, ITEMS).header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(putItems(id, "[]").header(HttpHeaders.IF_MATCH, eTag(id, 0)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.expectedVersion").value(0))
+                .andExpect(jsonPath("$.currentVersion").value(1))
+                .andExpect(jsonPath("$.conflicts.items").exists());
+
+        assertThat(version(id)).isEqualTo(1);
+    }
+
+    @Test
+    void refusesAVersionFieldWrittenOverOnAnotherInstance() throws Exception {
+        long id = createCharacter();
+        mockMvc.perform(get("/api/characters/{id}", id)).andExpect(status().isOk());
+        writeElsewhere(id, 7);
+
+        mockMvc.perform(put("/api/characters/{id}/inventory", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":\"[]\",\"version\":\"0\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.currentVersion").value(1));
+    }
+
+    @Test
+    void overwritesWithoutAPreconditionWhenTheCachedRowIsStale() throws Exception {
+        long id = createCharacter();
+        mockMvc.perform(get("/api/characters/{id}", id)).andExpect(status().isOk());
+        writeElsewhere(id, 7);
+
+        mockMvc.perform(putItems(id, ITEMS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.currentHp").value(7))
+                .andExpect(jsonPath("$.items").value(containsString("\"rope\"")));
+
+        assertThat(version(id)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT current_hp FROM character WHERE id = ?", Integer.class, id)).isEqualTo(7);
+    }
+
+    @Test
+    void answersAnUnchangedPutWithoutAPreconditionWithTheCurrentRow() throws Exception {
+        long id = createCharacter();
+        mockMvc.perform(get("/api/characters/{id}", id)).andExpect(status().isOk());
+        writeElsewhere(id, 7);
+
+        mockMvc.perform(putItems(id, "[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.currentHp").value(7));
+    }
+
+    @Test
+    void answersNotModifiedForTheCurrentTag() throws Exception {
+        long id = createCharacter();
+        String eTag = mockMvc.perform(get("/api/characters/{id}", id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/characters/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void servesAWriteMadeOnAnotherInstanceInsteadOfNotModified() throws Exception {
+        long id = createCharacter();
+        String eTag = mockMvc.perform(get("/api/characters/{id}", id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        writeElsewhere(id, 7);
+
+        mockMvc.perform(get("/api/characters/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"" + id + ".1.")))
+                .andExpect(jsonPath("$.currentHp").value(7));
+        mockMvc.perform(get("/api/characters/{id}/derived", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"" + id + ".1.")));
+    }
+
+    @Test
+    void servesAWriteMadeHereOnTheNextRead() throws Exception {
+        long id = createCharacter();
+        mockMvc.perform(get("/api/characters/{id}", id)).andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/characters/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Bea\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/characters/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Bea"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void rejectsMalformedInventoryAndDetailsJson() throws Exception {
+        long id = createCharacter();
+
+        mockMvc.perform(put("/api/characters/{id}/inventory", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"coins\":\"{\\\"gold\\\":\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(putItems(id, "{\"id\":\"rope\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/characters/{id}/details", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"details\":\"[]\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(version(id)).isZero();
+    }
+}
@@ -0,0 +1,104 @@
+package com.notes.service;
+
+import com.notes.dto.SearchHit;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class CatalogSearchIndexTest {
+    private static final CatalogSearchIndex index = new CatalogSearchIndex();
+
+    @BeforeAll
+    static void build() {
+        index.build();
+    }
+
+    private static SearchHit hit(List<SearchHit> hits, String parentName, String title) {
+        return hits.stream()
+                .filter(hit -> parentName.equals(hit.getParentName()) && title.equals(hit.getTitle()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no hit for " + parentName + " " + title + " in " + hits));
+    }
+
+    private static List<String> highlighted(SearchHit hit) {
+        return hit.getHighlights().stream()
+                .map(highlight -> hit.getSnippet().substring(highlight.getStart(), highlight.getEnd()))
+                .toList();
+    }
+
+    @Test
+    void ranksATitleMatchFirst() {
+        List<SearchHit> hits = index.search("fighter", 20);
+
+        assertThat(hits.get(0).getKind()).isEqualTo("class");
+        assertThat(hits.get(0).getTitle()).isEqualTo("Fighter");
+        assertThat(hits).extracting(SearchHit::getScore).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    @Test
+    void scoresPrefixAndFuzzyMatchesBelowExactOnes() {
+        SearchHit exact = hit(index.search("darkvision", 20), "Dwarf", "Darkvision.");
+        SearchHit prefix = hit(index.search("darkvis", 20), "Dwarf", "Darkvision.");
+        SearchHit fuzzy = hit(index.search("darkvison", 20), "Dwarf", "Darkvision.");
+
+        assertThat(prefix.getScore()).isCloseTo(exact.getScore() * 0.7, within(1e-3));
+        assertThat(fuzzy.getScore()).isCloseTo(exact.getScore() * 0.4, within(1e-3));
+    }
+
+    @Test
+    void matchesATypoWithinOneEdit() {
+        List<SearchHit> hits = index.search("darkvison", 20);
+
+        assertThat(hits).extracting(SearchHit::getTitle).contains("Darkvision.");
+        assertThat(highlighted(hit(hits, "Dwarf", "Darkvision."))).containsExactly("Darkvision");
+    }
+
+    @Test
+    void doesNotTakeShortWordsAsTypos() {
+        assertThat(index.search("drk", 20)).isEmpty();
+        assertThat(index.search("xyzzy", 20)).isEmpty();
+    }
+
+    @Test
+    void requiresEveryWordToMatch() {
+        assertThat(index.search("darkvision wind", 20)).isEmpty();
+
+        List<SearchHit> hits = index.search("second wind", 20);
+        assertThat(hits).isNotEmpty();
+        assertThat(hits.get(0).getTitle()).isEqualTo("Second Wind");
+        assertThat(hits).allSatisfy(hit -> assertThat(highlighted(hit)).contains("Second", "Wind"));
+    }
+
+    @Test
+    void highlightsTheMatchedWordsOfALongTextInAnElidedSnippet() {
+        SearchHit tacticalMind = hit(index.search("second wind", 20), "Fighter", "Tactical Mind");
+
+        assertThat(tacticalMind.getSnippet()).startsWith("…").endsWith("…").hasSizeLessThanOrEqualTo(162);
+        assertThat(highlighted(tacticalMind)).containsExactly("Second", "Wind");
+    }
+
+    @Test
+    void indexesWordsWithAnApostropheWhole() {
+        SearchHit hit = hit(index.search("can't", 50), "Aasimar", "Ability Score Increase.");
+
+        assertThat(highlighted(hit)).containsExactly("can't");
+    }
+
+    @Test
+    void returnsAtMostTheLimit() {
+        assertThat(index.search("fighter", 2)).hasSize(2);
+    }
+
+    @Test
+    void rejectsQueriesWithoutWordsOrWithTooMany() {
+        assertThatThrownBy(() -> index.search("!!", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Search query must contain a letter or digit");
+        assertThatThrownBy(() -> index.search("a b c d e f g h i j k", 20))
+                .hasMessage("Search query cannot have more than 10 words");
+    }
+}
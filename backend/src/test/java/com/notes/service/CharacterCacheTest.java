@@ -0,0 +1,140 @@
+package com.notes.service;
+
+import com.notes.dto.CharacterDelta;
+import com.notes.model.Character;
+import com.notes.repository.CharacterRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CharacterCacheTest {
+    private final CharacterRepository characterRepository = mock(CharacterRepository.class);
+    private final CharacterAssembler characterAssembler = mock(CharacterAssembler.class);
+    private final CharacterCache characterCache = new CharacterCache();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        when(characterAssembler.eTag(any(), any(), any()))
+                .thenAnswer(invocation -> "W/\"" + invocation.getArgument(0) + "." + invocation.getArgument(1) + "\"");
+        when(characterAssembler.toJson(any(Character.class), any()))
+                .thenAnswer(invocation -> objectMapper.valueToTree(Map.of("name", invocation.<Character>getArgument(0).getName())));
+        ReflectionTestUtils.setField(characterCache, "characterRepository", characterRepository);
+        ReflectionTestUtils.setField(characterCache, "characterAssembler", characterAssembler);
+        ReflectionTestUtils.setField(characterCache, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(characterCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(characterCache, "enabled", true);
+        ReflectionTestUtils.setField(characterCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(characterCache, "ttlSeconds", 600L);
+    }
+
+    private void start(boolean revalidate) {
+        ReflectionTestUtils.setField(characterCache, "revalidate", revalidate);
+        characterCache.start();
+    }
+
+    private void storeRow(String name, long version) {
+        Character character = new Character();
+        character.setId(1L);
+        character.setName(name);
+        character.setVersion(version);
+        when(characterRepository.findById(1L)).thenReturn(Optional.of(character));
+        when(characterRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+    }
+
+    private String name(Optional<CharacterCache.Sheet> sheet) {
+        return sheet.orElseThrow().getJson().get("name").asText();
+    }
+
+    @Test
+    void loadsTheRowOnceForRepeatedReads() {
+        start(false);
+        storeRow("Ana", 0);
+
+        characterCache.find(1L, Set.of());
+        CharacterCache.Sheet sheet = characterCache.find(1L, Set.of()).orElseThrow();
+
+        assertThat(sheet.getETag()).isEqualTo("W/\"1.0\"");
+        verify(characterRepository, times(1)).findById(1L);
+        verify(characterRepository, never()).findVersionById(anyLong());
+        verify(characterAssembler, times(1)).toJson(any(Character.class), any());
+    }
+
+    @Test
+    void dropsTheEntryOnADelta() {
+        start(false);
+        storeRow("Ana", 0);
+        characterCache.find(1L, Set.of());
+        storeRow("Bea", 1);
+
+        characterCache.onDelta(new CharacterDelta(1L, 1L, Map.of("name", "Bea")));
+
+        assertThat(name(characterCache.find(1L, Set.of()))).isEqualTo("Bea");
+        assertThat(characterCache.findVersion(1L)).contains(1L);
+    }
+
+    @Test
+    void servesTheCachedRowWhileItsVersionIsCurrent() {
+        start(true);
+        storeRow("Ana", 0);
+
+        characterCache.find(1L, Set.of());
+        characterCache.find(1L, Set.of());
+
+        verify(characterRepository, times(1)).findById(1L);
+        verify(characterRepository, times(1)).findVersionById(1L);
+    }
+
+    @Test
+    void reloadsARowWrittenOnAnotherInstance() {
+        start(true);
+        storeRow("Ana", 0);
+        characterCache.find(1L, Set.of());
+        storeRow("Bea", 1);
+
+        CharacterCache.Sheet sheet = characterCache.find(1L, Set.of()).orElseThrow();
+
+        assertThat(sheet.getETag()).isEqualTo("W/\"1.1\"");
+        assertThat(sheet.getJson().get("name").asText()).isEqualTo("Bea");
+        assertThat(characterCache.findCharacter(1L).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(characterCache.findVersion(1L)).contains(1L);
+        // The reloaded row replaced the stale entry
+        verify(characterRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void findsNothingForARowDeletedOnAnotherInstance() {
+        start(true);
+        storeRow("Ana", 0);
+        characterCache.find(1L, Set.of());
+        when(characterRepository.findVersionById(1L)).thenReturn(Optional.empty());
+        when(characterRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(characterCache.find(1L, Set.of())).isEmpty();
+        assertThat(characterCache.findVersion(1L)).isEmpty();
+    }
+
+    @Test
+    void answersTheVersionFromTheCacheOnlyWithoutRevalidation() {
+        start(false);
+        storeRow("Ana", 0);
+        characterCache.find(1L, Set.of());
+        when(characterRepository.findVersionById(1L)).thenReturn(Optional.of(1L));
+
+        assertThat(characterCache.findVersion(1L)).contains(0L);
+    }
+}
@@ -0,0 +1,219 @@
+package com.notes.service;
+
+import com.notes.dto.CharacterPage;
+import com.notes.dto.CharacterSummary;
+import com.notes.service.CharacterQueryService.Filter;
+import com.notes.service.CharacterQueryService.Sort;
+import com.notes.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CharacterQueryService.class)
+class CharacterQueryServiceTest {
+    private static final UUID ELF = UUID.randomUUID();
+    private static final UUID DWARF = UUID.randomUUID();
+    private static final UUID SAGE = UUID.randomUUID();
+    private static final UUID WIZARD = UUID.randomUUID();
+    private static final UUID FIGHTER = UUID.randomUUID();
+    private static final Filter ALL = new Filter(null, null, null, null);
+
+    // id, name, level, class, species; levels 3 and 5 and the name Ana are shared
+    private static final List<Row> ROWS = List.of(
+            new Row(1L, "Ana", 3, WIZARD, ELF),
+            new Row(2L, "bob", 5, FIGHTER, ELF),
+            new Row(3L, "Ana", 5, WIZARD, DWARF),
+            new Row(4L, "Cy_d", 1, FIGHTER, DWARF),
+            new Row(5L, "100% Dee", 3, WIZARD, ELF),
+            new Row(6L, "Back\\slash", 2, FIGHTER, ELF),
+            new Row(7L, "Eve", 3, WIZARD, DWARF),
+            new Row(8L, "cyxd", 4, WIZARD, ELF));
+
+    @Autowired
+    private CharacterQueryService queryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private record Row(Long id, String name, int level, UUID classId, UUID speciesId) {
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, "character_query");
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO species (id, name) VALUES (?, 'Elf'), (?, 'Dwarf')", ELF, DWARF);
+        jdbcTemplate.update("INSERT INTO background (id, name, description) VALUES (?, 'Sage', '')", SAGE);
+        jdbcTemplate.update("INSERT INTO character_class (id, name, description, hit_die) VALUES (?, 'Wizard', '', 'd6'), (?, 'Fighter', '', 'd10')",
+                WIZARD, FIGHTER);
+        for (Row row : ROWS) {
+            jdbcTemplate.update("INSERT INTO character (id, name, level, class_id, species_id, background_id) VALUES (?, ?, ?, ?, ?, ?)",
+                    row.id(), row.name(), row.level(), row.classId(), row.speciesId(), SAGE);
+        }
+    }
+
+    // Follows next cursors from the first page to the last, checking every page on the way
+    private List<Long> walk(Filter filter, Sort sort, boolean descending, int limit) {
+        List<Long> ids = new ArrayList<>();
+        Long cursor = null;
+        do {
+            CharacterPage page = queryService.find(filter, sort, descending, cursor, limit);
+            List<Long> pageIds = page.getItems().stream().map(CharacterSummary::getId).toList();
+            ids.addAll(pageIds);
+            cursor = page.getNextCursor();
+            if (cursor != null) {
+                assertThat(pageIds).hasSize(limit).endsWith(cursor);
+            } else {
+                assertThat(pageIds).hasSizeLessThanOrEqualTo(limit);
+            }
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> ids(Filter filter) {
+        return queryService.find(filter, Sort.ID, false, null, 100).getItems().stream()
+                .map(CharacterSummary::getId)
+                .toList();
+    }
+
+    private static List<Long> reversed(List<Long> ids) {
+        List<Long> reversed = new ArrayList<>(ids);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+
+    private static List<Long> ordered(Comparator<Row> order) {
+        return ROWS.stream().sorted(order).map(Row::id).toList();
+    }
+
+    @Test
+    void pagesThroughEveryCharacterOnceInIdOrder() {
+        List<Long> ascending = ordered(Comparator.comparing(Row::id));
+
+        for (int limit = 1; limit <= ROWS.size() + 1; limit++) {
+            assertThat(walk(ALL, Sort.ID, false, limit)).as("limit %d", limit).isEqualTo(ascending);
+            assertThat(walk(ALL, Sort.ID, true, limit)).as("limit %d", limit).isEqualTo(reversed(ascending));
+        }
+    }
+
+    @Test
+    void continuesAfterTheCursorWithinTiedLevels() {
+        Comparator<Row> byLevel = Comparator.comparing(Row::level).thenComparing(Row::id);
+        List<Long> ascending = ordered(byLevel);
+
+        for (int limit = 1; limit <= ROWS.size() + 1; limit++) {
+            assertThat(walk(ALL, Sort.LEVEL, false, limit)).as("limit %d", limit).isEqualTo(ascending);
+            assertThat(walk(ALL, Sort.LEVEL, true, limit)).as("limit %d", limit).isEqualTo(reversed(ascending));
+        }
+    }
+
+    @Test
+    void continuesAfterTheCursorWithinTiedNames() {
+        // Names sort by the database collation, so the unpaged order is the reference
+        List<Long> ascending = queryService.find(ALL, Sort.NAME, false, null, 100).getItems().stream()
+                .map(CharacterSummary::getId)
+                .toList();
+        List<Long> descending = queryService.find(ALL, Sort.NAME, true, null, 100).getItems().stream()
+                .map(CharacterSummary::getId)
+                .toList();
+
+        assertThat(ascending).containsSubsequence(1L, 3L).hasSameElementsAs(ordered(Comparator.comparing(Row::id)));
+        assertThat(ascending.indexOf(3L)).isEqualTo(ascending.indexOf(1L) + 1);
+        assertThat(descending).isEqualTo(reversed(ascending));
+        for (int limit = 1; limit <= ROWS.size() + 1; limit++) {
+            assertThat(walk(ALL, Sort.NAME, false, limit)).as("limit %d", limit).isEqualTo(ascending);
+            assertThat(walk(ALL, Sort.NAME, true, limit)).as("limit %d", limit).isEqualTo(descending);
+        }
+    }
+
+    @Test
+    void endsOnAPageThatExactlyFillsTheLimit() {
+        Filter fighters = new Filter(null, FIGHTER, null, null);
+
+        CharacterPage full = queryService.find(fighters, Sort.ID, false, null, 3);
+        CharacterPage first = queryService.find(fighters, Sort.ID, false, null, 2);
+        CharacterPage last = queryService.find(fighters, Sort.ID, false, first.getNextCursor(), 2);
+
+        assertThat(full.getItems()).extracting(CharacterSummary::getId).containsExactly(2L, 4L, 6L);
+        assertThat(full.getNextCursor()).isNull();
+        assertThat(first.getItems()).extracting(CharacterSummary::getId).containsExactly(2L, 4L);
+        assertThat(first.getNextCursor()).isEqualTo(4L);
+        assertThat(last.getItems()).extracting(CharacterSummary::getId).containsExactly(6L);
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pagesThroughAFilteredSortWithTheFilterApplied() {
+        Filter elves = new Filter(null, null, ELF, 3);
+
+        assertThat(walk(elves, Sort.LEVEL, true, 1)).containsExactly(2L, 8L, 5L, 1L);
+    }
+
+    @Test
+    void matchesLikeWildcardsInTheNameLiterally() {
+        assertThat(ids(new Filter("_", null, null, null))).containsExactly(4L);
+        assertThat(ids(new Filter("y_d", null, null, null))).containsExactly(4L);
+        assertThat(ids(new Filter("%", null, null, null))).containsExactly(5L);
+        assertThat(ids(new Filter("\\", null, null, null))).containsExactly(6L);
+        assertThat(ids(new Filter("k\\s", null, null, null))).containsExactly(6L);
+    }
+
+    @Test
+    void matchesTheNameIgnoringCase() {
+        assertThat(ids(new Filter("ANA", null, null, null))).containsExactly(1L, 3L);
+        assertThat(ids(new Filter("cY", null, null, null))).containsExactly(4L, 8L);
+    }
+
+    @Test
+    void combinesFilters() {
+        assertThat(ids(new Filter(null, WIZARD, DWARF, null))).containsExactly(3L, 7L);
+        assertThat(ids(new Filter(null, null, ELF, 4))).containsExactly(2L, 8L);
+        assertThat(ids(new Filter("e", WIZARD, null, 4))).isEmpty();
+    }
+
+    @Test
+    void summarizesWithTheCatalogNames() {
+        CharacterSummary summary = queryService.find(ALL, Sort.ID, false, null, 1).getItems().get(0);
+
+        assertThat(summary)
+                .extracting(CharacterSummary::getName, CharacterSummary::getLevel, CharacterSummary::getClassName,
+                        CharacterSummary::getSpeciesName, CharacterSummary::getBackgroundName)
+                .containsExactly("Ana", 3, "Wizard", "Elf", "Sage");
+    }
+
+    @Test
+    void rejectsACursorThatIsNotACharacter() {
+        assertThatThrownBy(() -> queryService.find(ALL, Sort.NAME, false, 999L, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor does not match a character");
+        assertThat(queryService.find(ALL, Sort.ID, false, 999L, 2).getItems()).isEmpty();
+    }
+
+    @Test
+    void parsesTheSortProperty() {
+        assertThat(CharacterQueryService.parseSort("level")).isEqualTo(Sort.LEVEL);
+        assertThat(CharacterQueryService.parseSort("-name")).isEqualTo(Sort.NAME);
+        assertThatThrownBy(() -> CharacterQueryService.parseSort("-hp"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown sort property: hp");
+    }
+}
@@ -0,0 +1,90 @@
+package com.notes.service;
+
+import com.notes.dto.ImportResult;
+import com.notes.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"notes.seed.async=false", "notes.seed.debug-character=false",
+        "notes.transfer.batch-size=3"})
+class CharacterTransferServiceTest {
+    @Autowired
+    private CharacterTransferService transferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String catalogIds;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry, "character_transfer");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM character");
+        catalogIds = String.format("\"speciesId\":\"%s\",\"backgroundId\":\"%s\",\"classId\":\"%s\"",
+                jdbcTemplate.queryForObject("SELECT id FROM species ORDER BY name LIMIT 1", String.class),
+                jdbcTemplate.queryForObject("SELECT id FROM background ORDER BY name LIMIT 1", String.class),
+                jdbcTemplate.queryForObject("SELECT id FROM character_class ORDER BY name LIMIT 1", String.class));
+    }
+
+    private String line(String name) {
+        return "{\"name\":\"" + name + "\"," + catalogIds + "}";
+    }
+
+    private ImportResult importLines(String... lines) throws Exception {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return transferService.importFrom(new ByteArrayInputStream(body));
+    }
+
+    private List<String> names() {
+        return jdbcTemplate.queryForList("SELECT name FROM character ORDER BY id", String.class);
+    }
+
+    @Test
+    void importsEveryValidLine() throws Exception {
+        ImportResult result = importLines(line("Ana"), line("Bea"), "", line("Cy"), line("Dee"));
+
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getFailed()).isZero();
+        assertThat(names()).containsExactly("Ana", "Bea", "Cy", "Dee");
+    }
+
+    @Test
+    void reportsOnlyTheRowsTheDatabaseRefuses() throws Exception {
+        String tooLong = "x".repeat(300);
+
+        ImportResult result = importLines(line("Ana"), line(tooLong), line("Bea"), line("Cy"), line("Dee"));
+
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2);
+            assertThat(error.getMessage()).startsWith("Failed to save: ").contains("too long");
+        });
+        assertThat(names()).containsExactly("Ana", "Bea", "Cy", "Dee");
+    }
+
+    @Test
+    void reportsLinesThatAreNotCharacters() throws Exception {
+        ImportResult result = importLines(line("Ana"), "{\"name\":", "[]", "{\"name\":\"Bea\"}");
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ImportResult.LineError::getLine).containsExactly(2L, 3L, 4L);
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("Line must be a JSON object");
+        assertThat(result.getErrors().get(2).getMessage()).isEqualTo("Species ID cannot be null");
+    }
+}
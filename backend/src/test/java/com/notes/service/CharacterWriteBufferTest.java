@@ -0,0 +1,115 @@
+package com.notes.service;
+
+import com.notes.model.CharacterField;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CharacterWriteBufferTest {
+    private final CharacterPatchService characterPatchService = mock(CharacterPatchService.class);
+    private final CharacterWriteBuffer writeBuffer = new CharacterWriteBuffer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writeBuffer, "characterPatchService", characterPatchService);
+        ReflectionTestUtils.setField(writeBuffer, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writeBuffer, "windowMs", 0L);
+        ReflectionTestUtils.setField(writeBuffer, "maxDelayMs", 60_000L);
+        ReflectionTestUtils.setField(writeBuffer, "maxAttempts", 3);
+        // Not enabled, so no scheduler runs; ticks are driven by the tests
+        writeBuffer.start();
+    }
+
+    private void tick() {
+        ReflectionTestUtils.invokeMethod(writeBuffer, "flushDue");
+    }
+
+    private void failWrites() {
+        when(characterPatchService.apply(eq(1L), any(), isNull()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+    }
+
+    @Test
+    void writesCoalescedChangesAndCountsTheFlush() {
+        when(characterPatchService.apply(eq(1L), any(), isNull())).thenReturn(true);
+        writeBuffer.enqueue(1L, Map.of(CharacterField.NAME, "Ana"));
+        writeBuffer.enqueue(1L, Map.of(CharacterField.LEVEL, 3));
+
+        writeBuffer.flush(1L);
+
+        verify(characterPatchService).apply(1L, Map.of(CharacterField.NAME, "Ana", CharacterField.LEVEL, 3), null);
+        assertThat(writeBuffer.getStats().getFlushes()).isEqualTo(1);
+        assertThat(writeBuffer.getStats().getPending()).isZero();
+    }
+
+    @Test
+    void failsTheFlushingRequestAndKeepsTheChanges() {
+        failWrites();
+        writeBuffer.enqueue(1L, Map.of(CharacterField.NAME, "Ana"));
+
+        assertThatThrownBy(() -> writeBuffer.flush(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Could not write buffered changes for character 1");
+        assertThat(writeBuffer.getStats().getPending()).isEqualTo(1);
+        assertThat(writeBuffer.getStats().getFlushes()).isZero();
+    }
+
+    @Test
+    void dropsTheChangesAfterTheLastAttempt() {
+        failWrites();
+        writeBuffer.enqueue(1L, Map.of(CharacterField.NAME, "Ana"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> writeBuffer.flush(1L)).isInstanceOf(IllegalStateException.class);
+        }
+        writeBuffer.flush(1L);
+
+        verify(characterPatchService, times(3)).apply(eq(1L), any(), isNull());
+        assertThat(writeBuffer.getStats().getPending()).isZero();
+        assertThat(writeBuffer.getStats().getFlushes()).isZero();
+    }
+
+    @Test
+    void retriesAFailedWriteOnlyAfterTheMaximumDelay() {
+        failWrites();
+        writeBuffer.enqueue(1L, Map.of(CharacterField.NAME, "Ana"));
+
+        tick();
+        tick();
+        tick();
+
+        verify(characterPatchService, times(1)).apply(eq(1L), any(), isNull());
+        assertThat(writeBuffer.getStats().getPending()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsChangesQueuedAfterAFailureOverTheRequeuedOnes() {
+        failWrites();
+        writeBuffer.enqueue(1L, Map.of(CharacterField.NAME, "Ana", CharacterField.LEVEL, 3));
+        tick();
+        writeBuffer.enqueue(1L, Map.of(CharacterField.NAME, "Bea"));
+        when(characterPatchService.apply(eq(1L), any(), isNull())).thenReturn(true);
+
+        writeBuffer.flush(1L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<CharacterField, Object>> changes = ArgumentCaptor.forClass(Map.class);
+        verify(characterPatchService, times(2)).apply(eq(1L), changes.capture(), isNull());
+        assertThat(changes.getValue()).containsOnly(Map.entry(CharacterField.NAME, "Bea"), Map.entry(CharacterField.LEVEL, 3));
+        assertThat(writeBuffer.getStats().getFlushes()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.notes.service;
+
+import com.notes.dto.RollResult;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DiceExpressionTest {
+    // STR +3, DEX +2, CON +1, INT 0, WIS -1, CHA +4, PB +3, LEVEL 5
+    private static final int[] BINDINGS = {3, 2, 1, 0, -1, 4, 3, 5};
+
+    private static RollResult.Roll roll(String expression) {
+        return DiceExpression.compile(expression).roll(BINDINGS, new SplittableRandom(42));
+    }
+
+    @Test
+    void addsDiceNumbersAndBindingsWithTheirSigns() {
+        RollResult.Roll roll = roll("2d6 + str - 1 + pb");
+
+        assertThat(roll.getTerms()).extracting(RollResult.Term::getTerm)
+                .containsExactly("+2d6", "+STR", "-1", "+PB");
+        int[] dice = roll.getTerms().get(0).getDice();
+        assertThat(dice).hasSize(2);
+        assertThat(Arrays.stream(dice).allMatch(die -> die >= 1 && die <= 6)).isTrue();
+        assertThat(roll.getTerms()).extracting(RollResult.Term::getValue)
+                .containsExactly(dice[0] + dice[1], 3, -1, 3);
+        assertThat(roll.getTotal()).isEqualTo(dice[0] + dice[1] + 3 - 1 + 3);
+    }
+
+    @Test
+    void keepsTheHighestOrLowestDice() {
+        RollResult.Term advantage = roll("4d20kh1").getTerms().get(0);
+        RollResult.Term disadvantage = roll("4d20kl2").getTerms().get(0);
+
+        assertThat(advantage.getValue()).isEqualTo(Arrays.stream(advantage.getDice()).max().getAsInt());
+        int[] sorted = disadvantage.getDice().clone();
+        Arrays.sort(sorted);
+        assertThat(disadvantage.getValue()).isEqualTo(sorted[0] + sorted[1]);
+        assertThat(disadvantage.getTerm()).isEqualTo("+4d20kl2");
+    }
+
+    @Test
+    void rollsABoundNumberOfDice() {
+        assertThat(roll("PBd4").getTerms().get(0).getDice()).hasSize(3);
+        assertThat(roll("(PB)d4").getTerms().get(0).getDice()).hasSize(3);
+        assertThat(roll("LEVELd6+CON").getTerms().get(0).getDice()).hasSize(5);
+        assertThat(roll("dexd8").getTerms().get(0).getDice()).hasSize(2);
+        assertThat(roll("(CHA)d20kh1").getTerms().get(0).getDice()).hasSize(4);
+    }
+
+    @Test
+    void namesBoundDiceAsWritten() {
+        assertThat(roll("1 + (pb)d4").getTerms()).extracting(RollResult.Term::getTerm)
+                .containsExactly("+1", "+PBd4");
+    }
+
+    @Test
+    void rollsNoDiceForANegativeBoundCount() {
+        RollResult.Term term = roll("WISd6").getTerms().get(0);
+
+        assertThat(term.getDice()).isEmpty();
+        assertThat(term.getValue()).isZero();
+    }
+
+    @Test
+    void keepsEveryDieWhenABoundCountRollsFewerThanKept() {
+        RollResult.Term term = roll("CONd20kh2").getTerms().get(0);
+
+        assertThat(term.getDice()).hasSize(1);
+        assertThat(term.getValue()).isEqualTo(term.getDice()[0]);
+    }
+
+    @Test
+    void resolvesBoundCountsOnEachRoll() {
+        DiceExpression expression = DiceExpression.compile("LEVELd4");
+        int[] bindings = BINDINGS.clone();
+        bindings[DiceExpression.LEVEL] = 9;
+
+        assertThat(expression.roll(bindings, new SplittableRandom(1)).getTerms().get(0).getDice()).hasSize(9);
+        assertThat(expression.roll(BINDINGS, new SplittableRandom(1)).getTerms().get(0).getDice()).hasSize(5);
+    }
+
+    @Test
+    void rollsTheSameDiceForTheSameSeed() {
+        DiceExpression expression = DiceExpression.compile("10d1000");
+
+        assertThat(expression.roll(BINDINGS, new SplittableRandom(7)).getTerms().get(0).getDice())
+                .isEqualTo(expression.roll(BINDINGS, new SplittableRandom(7)).getTerms().get(0).getDice());
+    }
+
+    @Test
+    void reportsWhereAnExpressionIsMalformed() {
+        assertThatThrownBy(() -> DiceExpression.compile("2d6*3"))
+                .hasMessage("Invalid roll expression '2d6*3': expected + or - at position 4");
+        assertThatThrownBy(() -> DiceExpression.compile("1d4+"))
+                .hasMessage("Invalid roll expression '1d4+': missing term at position 5");
+        assertThatThrownBy(() -> DiceExpression.compile("1+foo"))
+                .hasMessage("Invalid roll expression '1+foo': unknown term FOO at position 3");
+        assertThatThrownBy(() -> DiceExpression.compile("(PB d4"))
+                .hasMessage("Invalid roll expression '(PB d4': missing ) for ( at position 1");
+        assertThatThrownBy(() -> DiceExpression.compile("1+(XP)d4"))
+                .hasMessage("Invalid roll expression '1+(XP)d4': unknown dice count XP at position 4");
+        assertThatThrownBy(() -> DiceExpression.compile("(PB)+1"))
+                .hasMessage("Invalid roll expression '(PB)+1': expected d after ) at position 5");
+        assertThatThrownBy(() -> DiceExpression.compile("2(PB)d4"))
+                .hasMessage("Invalid roll expression '2(PB)d4': expected + or - at position 2");
+    }
+
+    @Test
+    void rejectsDiceOutOfRange() {
+        assertThatThrownBy(() -> DiceExpression.compile("0d6"))
+                .hasMessage("Invalid roll expression '0d6': dice need a count and sides of at least 1 in 0d6");
+        assertThatThrownBy(() -> DiceExpression.compile("101d6"))
+                .hasMessage("Invalid roll expression '101d6': 101 is larger than 100");
+        assertThatThrownBy(() -> DiceExpression.compile("2d20kh3"))
+                .hasMessage("Invalid roll expression '2d20kh3': 3 is larger than 2");
+        assertThatThrownBy(() -> DiceExpression.compile("2d20kh0"))
+                .hasMessage("Invalid roll expression '2d20kh0': must keep at least one die in 2d20kh0");
+        assertThatThrownBy(() -> DiceExpression.compile("2d20kx1"))
+                .hasMessage("Invalid roll expression '2d20kx1': keep must be kh or kl in 2d20kx1");
+        assertThatThrownBy(() -> DiceExpression.compile("100d6+100d6+100d6+100d6+100d6+1d6"))
+                .hasMessage("Roll expression cannot roll more than 500 dice");
+    }
+
+    @Test
+    void rejectsEmptyAndOverlongExpressions() {
+        assertThatThrownBy(() -> DiceExpression.compile(" "))
+                .hasMessage("Roll expression cannot be empty");
+        assertThatThrownBy(() -> DiceExpression.compile("1+".repeat(50) + "1"))
+                .hasMessage("Roll expression cannot be longer than 100 characters");
+        assertThatThrownBy(() -> DiceExpression.compile("1+".repeat(20) + "1"))
+                .hasMessage("Roll expression cannot have more than 20 terms");
+    }
+}
@@ -0,0 +1,122 @@
+package com.notes.service;
+
+import com.notes.dto.RollResult;
+import com.notes.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DiceRollerTest {
+    private final CharacterCache characterCache = mock(CharacterCache.class);
+    private final DiceRoller diceRoller = new DiceRoller();
+
+    @BeforeEach
+    void setUp() {
+        Character character = new Character();
+        character.setId(1L);
+        character.setLevel(5);
+        character.setStrength(16);
+        when(characterCache.findCharacter(1L)).thenReturn(Optional.of(character));
+        when(characterCache.findCharacter(2L)).thenReturn(Optional.empty());
+
+        ReflectionTestUtils.setField(diceRoller, "characterCache", characterCache);
+        ReflectionTestUtils.setField(diceRoller, "historySize", 3);
+        ReflectionTestUtils.setField(diceRoller, "maxCharacters", 10L);
+        ReflectionTestUtils.setField(diceRoller, "maxExpressions", 10L);
+        diceRoller.start();
+    }
+
+    @Test
+    void bindsTheCharactersModifiersProficiencyBonusAndLevel() {
+        RollResult result = diceRoller.roll(1L, "STR+PB+LEVEL+PBd1", null, 1).orElseThrow();
+
+        // STR 16 is +3, level 5 has a proficiency bonus of +3 and rolls 3d1
+        assertThat(result.getRolls().get(0).getTotal()).isEqualTo(3 + 3 + 5 + 3);
+    }
+
+    @Test
+    void rollsTheExpressionTheGivenNumberOfTimes() {
+        RollResult result = diceRoller.roll(1L, "d20", "Attack", 4).orElseThrow();
+
+        assertThat(result.getRolls()).hasSize(4);
+        assertThat(result.getLabel()).isEqualTo("Attack");
+        assertThat(result.getExpression()).isEqualTo("d20");
+    }
+
+    @Test
+    void rollsNothingForAMissingCharacter() {
+        assertThat(diceRoller.roll(2L, "d20", null, 1)).isEmpty();
+        assertThat(diceRoller.history(2L)).isEmpty();
+    }
+
+    @Test
+    void keepsTheLatestRollsNewestFirst() {
+        for (int i = 1; i <= 5; i++) {
+            diceRoller.roll(1L, "d4", "roll " + i, 1);
+        }
+
+        assertThat(diceRoller.history(1L)).extracting(RollResult::getLabel)
+                .containsExactly("roll 5", "roll 4", "roll 3");
+    }
+
+    @Test
+    void listsAPartlyFilledHistoryNewestFirst() {
+        diceRoller.roll(1L, "d4", "first", 1);
+        diceRoller.roll(1L, "d4", "second", 1);
+
+        assertThat(diceRoller.history(1L)).extracting(RollResult::getLabel)
+                .containsExactly("second", "first");
+    }
+
+    @Test
+    void forgetsTheHistory() {
+        diceRoller.roll(1L, "d4", null, 1);
+        diceRoller.forget(1L);
+
+        assertThat(diceRoller.history(1L)).isEmpty();
+    }
+
+    @Test
+    void rollsWithADifferentGeneratorOnEachThread() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<int[]>> dice = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                dice.add(executor.submit(() ->
+                        diceRoller.roll(1L, "20d1000", null, 1).orElseThrow().getRolls().get(0).getTerms().get(0).getDice()));
+            }
+
+            assertThat(dice.get(0).get()).isNotEqualTo(dice.get(1).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void recordsEveryConcurrentRollUpToTheCapacity() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> rolls = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                rolls.add(executor.submit(() -> diceRoller.roll(1L, "d6", null, 1)));
+            }
+            for (Future<?> roll : rolls) {
+                roll.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(diceRoller.history(1L)).hasSize(3).doesNotContainNull();
+    }
+}
@@ -0,0 +1,54 @@
+package com.notes.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One embedded PostgreSQL for the whole test run. Each test class gets a database of
+ * its own, which Flyway migrates when the class's Spring context starts, so classes
+ * that commit rows do not see each other's.
+ */
+public final class TestDatabase {
+    private static final EmbeddedPostgres postgres = start();
+
+    private TestDatabase() {
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres started = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException e) {
+                    // The process is exiting anyway
+                }
+            }));
+            return started;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start PostgreSQL", e);
+        }
+    }
+
+    /**
+     * Creates the database and points the datasource at it.
+     */
+    public static void register(DynamicPropertyRegistry registry, String database) {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        } catch (SQLException e) {
+            // 42P04: the database exists, from an earlier context of the same class
+            if (!"42P04".equals(e.getSQLState())) {
+                throw new IllegalStateException("Could not create database " + database, e);
+            }
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", database));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+}
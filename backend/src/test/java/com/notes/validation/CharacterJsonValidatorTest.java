@@ -0,0 +1,95 @@
+package com.notes.validation;
+
+import com.notes.model.Character;
+import com.notes.model.CharacterField;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CharacterJsonValidatorTest {
+    private final CharacterJsonValidator validator = new CharacterJsonValidator(new ObjectMapper(), 1000);
+
+    @Test
+    void acceptsTheDefaultsOfANewCharacter() {
+        Character character = new Character();
+        for (CharacterField field : CharacterField.values()) {
+            if (field.getKind() == CharacterField.Kind.JSON) {
+                assertThatCode(() -> validator.validate(field, (String) field.get(character)))
+                        .as(field.getProperty())
+                        .doesNotThrowAnyException();
+            }
+        }
+    }
+
+    @Test
+    void acceptsUndeclaredScalarMembersAndNulls() {
+        assertThatCode(() -> validator.validate(CharacterField.SKILLS,
+                "[{\"name\":\"Athletics\",\"ability\":\"str\",\"proficiency\":null,\"other\":1.5,\"note\":true}]"))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> validator.validate(CharacterField.COINS, "{\"gold\":150,\"silver\":null}"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThatThrownBy(() -> validator.validate(CharacterField.ITEMS, "[{\"name\":"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid items JSON format: ");
+    }
+
+    @Test
+    void rejectsTheWrongRoot() {
+        assertThatThrownBy(() -> validator.validate(CharacterField.ITEMS, "{}"))
+                .hasMessage("Invalid items JSON format: expected an array");
+        assertThatThrownBy(() -> validator.validate(CharacterField.DETAILS, "[]"))
+                .hasMessage("Invalid details JSON format: expected an object");
+        assertThatThrownBy(() -> validator.validate(CharacterField.SPELLS, "[{}, 3]"))
+                .hasMessage("Invalid spells JSON format: element 1 must be an object");
+    }
+
+    @Test
+    void rejectsMembersOfTheWrongType() {
+        assertThatThrownBy(() -> validator.validate(CharacterField.SKILLS,
+                "[{\"name\":\"Athletics\"},{\"name\":\"Stealth\",\"other\":\"2\"}]"))
+                .hasMessage("Invalid skills JSON format: element 1 \"other\" must be a number");
+        assertThatThrownBy(() -> validator.validate(CharacterField.COINS, "{\"gold\":\"lots\"}"))
+                .hasMessage("Invalid coins JSON format: \"gold\" must be a number");
+        assertThatThrownBy(() -> validator.validate(CharacterField.WEAPONS, "[{\"proficient\":\"yes\"}]"))
+                .hasMessage("Invalid weapons JSON format: element 0 \"proficient\" must be a boolean");
+    }
+
+    @Test
+    void rejectsNestedValuesInUndeclaredMembers() {
+        assertThatThrownBy(() -> validator.validate(CharacterField.ITEMS, "[{\"id\":\"1\",\"tags\":[\"heavy\"]}]"))
+                .hasMessage("Invalid items JSON format: element 0 \"tags\" must be a string, number or boolean");
+    }
+
+    @Test
+    void rejectsMissingOrNullRequiredMembers() {
+        assertThatThrownBy(() -> validator.validate(CharacterField.SPELL_SLOTS, "[{\"level\":1,\"used\":0}]"))
+                .hasMessage("Invalid spell slots JSON format: element 0 is missing \"max\"");
+        assertThatThrownBy(() -> validator.validate(CharacterField.SKILLS, "[{\"name\":null}]"))
+                .hasMessage("Invalid skills JSON format: element 0 is missing \"name\"");
+    }
+
+    @Test
+    void rejectsContentAfterTheValue() {
+        assertThatThrownBy(() -> validator.validate(CharacterField.ITEMS, "[] []"))
+                .hasMessage("Invalid items JSON format: unexpected content after the value");
+    }
+
+    @Test
+    void rejectsValuesOverTheLengthLimitBeforeParsing() {
+        String json = "[" + "{}, ".repeat(300) + "{}]";
+        assertThatThrownBy(() -> validator.validate(CharacterField.ITEMS, json))
+                .hasMessage("Invalid items JSON format: value exceeds 1000 characters");
+    }
+
+    @Test
+    void rejectsFieldsThatAreNotJson() {
+        assertThatThrownBy(() -> validator.validate(CharacterField.NAME, "\"Tom\""))
+                .hasMessage("Character name is not a JSON field");
+    }
+}
@@ -5,10 +5,26 @@ import CharacterDelete from './components/CharacterDelete';
 import CharacterDetails from './components/CharacterDetails';
 import CharacterList from './components/CharacterList';
 import DarkModeToggle from './components/DarkModeToggle';
-import { Character, Species, Background, CharacterClass, Skill } from './types/character';
+import { Character, CharacterPage, CharacterSummary, Species, Background, CharacterClass, Skill } from './types/character';
+import { isConflict, putCharacter, reloadAfterConflict } from './characterWrites';
+
+const PAGE_SIZE = 50;
+
+const summaryOf = (character: Character): CharacterSummary => ({
+  id: character.id,
+  name: character.name,
+  level: character.level,
+  className: character.characterClass?.name ?? null,
+  speciesName: character.species?.name ?? null,
+  backgroundName: character.background?.name ?? null,
+  currentHp: character.currentHp,
+  maxHp: character.maxHp,
+  temporaryHp: character.temporaryHp
+});
 
 function App() {
-  const [characters, setCharacters] = useState<Character[]>([]);
+  const [characters, setCharacters] = useState<CharacterSummary[]>([]);
+  const [nextCursor, setNextCursor] = useState<number | null>(null);
   const [selectedCharacter, setSelectedCharacter] = useState<Character | null>(null);
   const [isEditing, setIsEditing] = useState(false);
   const [editName, setEditName] = useState('');
@@ -17,7 +33,7 @@ function App() {
   const [editClass, setEditClass] = useState<CharacterClass | null>(null);
   const [showCreateModal, setShowCreateModal] = useState(false);
   const [showDeleteModal, setShowDeleteModal] = useState(false);
-  const [characterToDelete, setCharacterToDelete] = useState<Character | null>(null);
+  const [characterToDelete, setCharacterToDelete] = useState<CharacterSummary | Character | null>(null);
   const [speciesList, setSpeciesList] = useState<Species[]>([]);
   const [backgroundList, setBackgroundList] = useState<Background[]>([]);
   const [classList, setClassList] = useState<CharacterClass[]>([]);
@@ -80,11 +96,14 @@ function App() {
         setClassList(classesResponse.data);
         setEditClass(classesResponse.data[0]);
 
-        // Fetch characters
+        // Fetch the first page of the character list; sheets are fetched when selected
         console.log('Fetching characters...');
-        const charactersResponse = await axios.get(`${apiUrl}/api/characters`);
+        const charactersResponse = await axios.get<CharacterPage>(`${apiUrl}/api/characters`, {
+          params: { limit: PAGE_SIZE }
+        });
         console.log('Characters response:', charactersResponse.data);
-        setCharacters(charactersResponse.data);
+        setCharacters(charactersResponse.data.items);
+        setNextCursor(charactersResponse.data.nextCursor);
       } catch (error) {
         console.error('Error during initialization:', error);
         if (axios.isAxiosError(error)) {
@@ -109,8 +128,41 @@ function App() {
     setEditClass(character.characterClass);
   };
 
+  const handleLoadMore = async () => {
+    if (nextCursor === null) return;
+    try {
+      const response = await axios.get<CharacterPage>(`${apiUrl}/api/characters`, {
+        params: { limit: PAGE_SIZE, cursor: nextCursor }
+      });
+      setCharacters([...characters, ...response.data.items]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Error fetching characters:', error);
+      if (axios.isAxiosError(error) && error.response) {
+        alert(`Error fetching characters: ${error.response.data}`);
+      } else {
+        alert('Error fetching characters. Please try again.');
+      }
+    }
+  };
+
+  // Keeps the list row of a character in step with its latest sheet
+  const updateSummary = (character: Character) => {
+    setCharacters(characters.map(char =>
+      char.id === character.id ? summaryOf(character) : char
+    ));
+  };
+
+  // New characters have the highest ids, so they belong at the end of the list;
+  // while more pages remain they show up when the last page is loaded
+  const appendSummary = (character: Character) => {
+    if (nextCursor === null) {
+      setCharacters([...characters, summaryOf(character)]);
+    }
+  };
+
   const handleCharacterCreated = (character: Character) => {
-    setCharacters([...characters, character]);
+    appendSummary(character);
     setShowCreateModal(false);
   };
 
@@ -121,6 +173,17 @@ function App() {
     }
   };
 
+  const handleConflict = async (character: Character) => {
+    try {
+      const current = await reloadAfterConflict(apiUrl, character);
+      updateSummary(current);
+      setSelectedCharacter(current);
+      initializeEditState(current);
+    } catch (error) {
+      console.error('Error reloading character:', error);
+    }
+  };
+
   const handleLevelChange = async (newLevel: number) => {
     console.log('handleLevelChange called with newLevel:', newLevel);
     console.log('Current character level:', selectedCharacter?.level);
@@ -148,7 +211,7 @@ function App() {
       console.log('Sending level update data:', characterData);
       console.log('Current character state:', selectedCharacter);
       
-      const response = await axios.put(`${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
+      const response = await putCharacter(selectedCharacter, `${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
       console.log('Level update response:', response.data);
       
       // Verify the response data
@@ -159,14 +222,13 @@ function App() {
         });
       }
       
-      const updatedCharacters = characters.map(char => 
-        char.id === selectedCharacter.id ? response.data : char
-      );
-      setCharacters(updatedCharacters);
+      updateSummary(response.data);
       setSelectedCharacter(response.data);
     } catch (error) {
       console.error('Error updating character level:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict(selectedCharacter);
+      } else if (axios.isAxiosError(error) && error.response) {
         console.error('Error response data:', error.response.data);
         const errorMessage = typeof error.response.data === 'string' 
           ? error.response.data 
@@ -196,14 +258,14 @@ function App() {
         [field]: value
       };
       
-      const response = await axios.put(`${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
-      setCharacters(characters.map(char => 
-        char.id === selectedCharacter.id ? response.data : char
-      ));
+      const response = await putCharacter(selectedCharacter, `${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
+      updateSummary(response.data);
       setSelectedCharacter(response.data);
     } catch (error) {
       console.error('Error updating HP:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict(selectedCharacter);
+      } else if (axios.isAxiosError(error) && error.response) {
         alert(`Error updating HP: ${error.response.data}`);
       } else {
         alert('Error updating HP. Please try again.');
@@ -229,14 +291,14 @@ function App() {
         speed: value
       };
       
-      const response = await axios.put(`${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
-      setCharacters(characters.map(char => 
-        char.id === selectedCharacter.id ? response.data : char
-      ));
+      const response = await putCharacter(selectedCharacter, `${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
+      updateSummary(response.data);
       setSelectedCharacter(response.data);
     } catch (error) {
       console.error('Error updating speed:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict(selectedCharacter);
+      } else if (axios.isAxiosError(error) && error.response) {
         alert(`Error updating speed: ${error.response.data}`);
       } else {
         alert('Error updating speed. Please try again.');
@@ -262,14 +324,14 @@ function App() {
         [ability]: value
       };
       
-      const response = await axios.put(`${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
-      setCharacters(characters.map(char => 
-        char.id === selectedCharacter.id ? response.data : char
-      ));
+      const response = await putCharacter(selectedCharacter, `${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
+      updateSummary(response.data);
       setSelectedCharacter(response.data);
     } catch (error) {
       console.error('Error updating ability score:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict(selectedCharacter);
+      } else if (axios.isAxiosError(error) && error.response) {
         alert(`Error updating ability score: ${error.response.data}`);
       } else {
         alert('Error updating ability score. Please try again.');
@@ -328,14 +390,14 @@ function App() {
         skills: JSON.stringify(updatedSkills)
       };
       
-      const response = await axios.put(`${apiUrl}/api/characters/${selectedCharacter.id}/skills`, characterData);
-      setCharacters(characters.map(char => 
-        char.id === selectedCharacter.id ? response.data : char
-      ));
+      const response = await putCharacter(selectedCharacter, `${apiUrl}/api/characters/${selectedCharacter.id}/skills`, characterData);
+      updateSummary(response.data);
       setSelectedCharacter(response.data);
     } catch (error) {
       console.error('Error updating skill:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict(selectedCharacter);
+      } else if (axios.isAxiosError(error) && error.response) {
         alert(`Error updating skill: ${error.response.data}`);
       } else {
         alert('Error updating skill. Please try again.');
@@ -343,7 +405,7 @@ function App() {
     }
   };
 
-  const handleDeleteClick = (e: React.MouseEvent, character: Character) => {
+  const handleDeleteClick = (e: React.MouseEvent, character: CharacterSummary | Character) => {
     e.stopPropagation();
     setCharacterToDelete(character);
     setShowDeleteModal(true);
@@ -359,15 +421,15 @@ function App() {
         classId: editClass.id,
         level: selectedCharacter.level // Keep current level
       };
-      const response = await axios.put(`${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
-      setCharacters(characters.map(char => 
-        char.id === selectedCharacter.id ? response.data : char
-      ));
+      const response = await putCharacter(selectedCharacter, `${apiUrl}/api/characters/${selectedCharacter.id}`, characterData);
+      updateSummary(response.data);
       setSelectedCharacter(response.data);
       setIsEditing(false);
     } catch (error) {
       console.error('Error updating character:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict(selectedCharacter);
+      } else if (axios.isAxiosError(error) && error.response) {
         const errorMessage = typeof error.response.data === 'string' 
           ? error.response.data 
           : JSON.stringify(error.response.data, null, 2);
@@ -385,10 +447,21 @@ function App() {
     }
   };
 
-  const handleCharacterSelect = (character: Character) => {
-    setSelectedCharacter(character);
-    setIsEditing(false);
-    initializeEditState(character);
+  const handleCharacterSelect = async (summary: CharacterSummary) => {
+    try {
+      const response = await axios.get<Character>(`${apiUrl}/api/characters/${summary.id}`);
+      setSelectedCharacter(response.data);
+      setIsEditing(false);
+      initializeEditState(response.data);
+      updateSummary(response.data);
+    } catch (error) {
+      console.error('Error fetching character:', error);
+      if (axios.isAxiosError(error) && error.response) {
+        alert(`Error fetching character: ${error.response.data}`);
+      } else {
+        alert('Error fetching character. Please try again.');
+      }
+    }
   };
 
   const handleCreateNew = () => {
@@ -399,7 +472,7 @@ function App() {
     try {
       const response = await axios.post(`${apiUrl}/api/debug/character`);
       const newCharacter = response.data;
-      setCharacters([...characters, newCharacter]);
+      appendSummary(newCharacter);
       alert(`Debug character "${newCharacter.name}" created successfully!`);
     } catch (error) {
       console.error('Error creating debug character:', error);
@@ -426,6 +499,8 @@ function App() {
       {!selectedCharacter && !showCreateModal && (
         <CharacterList
           characters={characters}
+          hasMore={nextCursor !== null}
+          onLoadMore={handleLoadMore}
           onCharacterSelect={handleCharacterSelect}
           onCharacterDelete={handleDeleteClick}
           onCreateNew={handleCreateNew}
@@ -472,9 +547,7 @@ function App() {
           onSave={handleUpdateCharacter}
           apiUrl={apiUrl}
           onCharacterUpdated={(updatedCharacter) => {
-            setCharacters(characters.map(char => 
-              char.id === updatedCharacter.id ? updatedCharacter : char
-            ));
+            updateSummary(updatedCharacter);
             setSelectedCharacter(updatedCharacter);
           }}
         />
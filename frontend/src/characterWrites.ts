@@ -0,0 +1,37 @@
+import axios, { AxiosResponse } from 'axios';
+import { Character } from './types/character';
+
+// Every write carries the version of the sheet it was made on as If-Match, so the server
+// answers 409 instead of overwriting a change made in another tab. This client's own writes
+// to a character go out one at a time, each with the version the previous one returned.
+const latestVersions = new Map<number, number>();
+const pendingWrites = new Map<number, Promise<unknown>>();
+
+export const putCharacter = (character: Character, url: string, data: unknown): Promise<AxiosResponse<Character>> => {
+  const previous = pendingWrites.get(character.id) ?? Promise.resolve();
+  const write = previous
+    .catch(() => undefined)
+    .then(() => {
+      const version = Math.max(latestVersions.get(character.id) ?? 0, character.version);
+      return axios.put<Character>(url, data, {
+        headers: { 'If-Match': `W/"${character.id}.${version}"` }
+      });
+    })
+    .then(response => {
+      latestVersions.set(character.id, response.data.version);
+      return response;
+    });
+  pendingWrites.set(character.id, write);
+  return write;
+};
+
+export const isConflict = (error: unknown): boolean =>
+  axios.isAxiosError(error) && error.response?.status === 409;
+
+// Fetches the current sheet after a 409 and tells the user their change was not saved
+export const reloadAfterConflict = async (apiUrl: string, character: Character): Promise<Character> => {
+  const response = await axios.get<Character>(`${apiUrl}/api/characters/${character.id}`);
+  latestVersions.set(character.id, response.data.version);
+  alert(`${character.name} was changed somewhere else, so your change was not saved. The sheet has been reloaded.`);
+  return response.data;
+};
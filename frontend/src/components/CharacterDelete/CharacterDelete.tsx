@@ -1,10 +1,10 @@
 import React from 'react';
 import axios from 'axios';
 import { FaExclamationTriangle } from 'react-icons/fa';
-import { Character } from '../../types/character';
+import { Character, CharacterSummary } from '../../types/character';
 
 interface CharacterDeleteProps {
-  character: Character | null;
+  character: CharacterSummary | Character | null;
   isOpen: boolean;
   onClose: () => void;
   onCharacterDeleted: (characterId: number) => void;
@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { FaPlus, FaTrash } from 'react-icons/fa';
 import axios from 'axios';
 import { Character } from '../../types/character';
+import { isConflict, putCharacter, reloadAfterConflict } from '../../characterWrites';
 
 interface InventoryTabProps {
   character: Character;
@@ -78,6 +79,11 @@ const InventoryTab: React.FC<InventoryTabProps> = ({ character, apiUrl, onCharac
   const carryingCapacity = 15 * character.strength;
   const weightPercentage = Math.min((totalWeight / carryingCapacity) * 100, 100);
 
+  const handleConflict = () =>
+    reloadAfterConflict(apiUrl, character)
+      .then(onCharacterUpdated)
+      .catch(error => console.error('Error reloading character:', error));
+
   const saveInventory = async () => {
     try {
       const inventoryData = {
@@ -85,11 +91,13 @@ const InventoryTab: React.FC<InventoryTabProps> = ({ character, apiUrl, onCharac
         items: JSON.stringify(items)
       };
 
-      const response = await axios.put(`${apiUrl}/api/characters/${character.id}/inventory`, inventoryData);
+      const response = await putCharacter(character, `${apiUrl}/api/characters/${character.id}/inventory`, inventoryData);
       onCharacterUpdated(response.data);
     } catch (error) {
       console.error('Error saving inventory:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict();
+      } else if (axios.isAxiosError(error) && error.response) {
         alert(`Error saving inventory: ${error.response.data}`);
       } else {
         alert('Error saving inventory. Please try again.');
@@ -111,9 +119,9 @@ const InventoryTab: React.FC<InventoryTabProps> = ({ character, apiUrl, onCharac
           coins: JSON.stringify(newCoins),
           items: JSON.stringify(items)
         };
-        axios.put(`${apiUrl}/api/characters/${character.id}/inventory`, inventoryData)
+        putCharacter(character, `${apiUrl}/api/characters/${character.id}/inventory`, inventoryData)
           .then(response => onCharacterUpdated(response.data))
-          .catch(error => console.error('Error auto-saving coins:', error));
+          .catch(error => isConflict(error) ? handleConflict() : console.error('Error auto-saving coins:', error));
       }, 1000);
     }
   };
@@ -136,9 +144,9 @@ const InventoryTab: React.FC<InventoryTabProps> = ({ character, apiUrl, onCharac
           coins: JSON.stringify(coins),
           items: JSON.stringify(newItems)
         };
-        axios.put(`${apiUrl}/api/characters/${character.id}/inventory`, inventoryData)
+        putCharacter(character, `${apiUrl}/api/characters/${character.id}/inventory`, inventoryData)
           .then(response => onCharacterUpdated(response.data))
-          .catch(error => console.error('Error auto-saving items:', error));
+          .catch(error => isConflict(error) ? handleConflict() : console.error('Error auto-saving items:', error));
       }, 1000);
     }
   };
@@ -155,9 +163,9 @@ const InventoryTab: React.FC<InventoryTabProps> = ({ character, apiUrl, onCharac
             coins: JSON.stringify(coins),
             items: JSON.stringify(newItems)
           };
-          axios.put(`${apiUrl}/api/characters/${character.id}/inventory`, inventoryData)
+          putCharacter(character, `${apiUrl}/api/characters/${character.id}/inventory`, inventoryData)
             .then(response => onCharacterUpdated(response.data))
-            .catch(error => console.error('Error auto-saving items:', error));
+            .catch(error => isConflict(error) ? handleConflict() : console.error('Error auto-saving items:', error));
         }, 1000);
       }
     }
@@ -176,9 +184,9 @@ const InventoryTab: React.FC<InventoryTabProps> = ({ character, apiUrl, onCharac
           coins: JSON.stringify(coins),
           items: JSON.stringify(newItems)
         };
-        axios.put(`${apiUrl}/api/characters/${character.id}/inventory`, inventoryData)
+        putCharacter(character, `${apiUrl}/api/characters/${character.id}/inventory`, inventoryData)
           .then(response => onCharacterUpdated(response.data))
-          .catch(error => console.error('Error auto-saving items:', error));
+          .catch(error => isConflict(error) ? handleConflict() : console.error('Error auto-saving items:', error));
       }, 1000);
     }
   };
@@ -1,6 +1,6 @@
 import React, { useState, useEffect, useRef } from 'react';
-import axios from 'axios';
 import { Character } from '../../types/character';
+import { isConflict, putCharacter, reloadAfterConflict } from '../../characterWrites';
 
 interface SpellSlot {
   level: number;
@@ -114,16 +114,25 @@ const SpellsTab: React.FC<SpellsTabProps> = ({ character, apiUrl, onCharacterUpd
     }
   }, [character.spellSlots, character.spells]);
 
+  const handleConflict = () =>
+    reloadAfterConflict(apiUrl, character)
+      .then(onCharacterUpdated)
+      .catch(error => console.error('Error reloading character:', error));
+
   const saveSpells = async (updatedSpells: Spell[]) => {
     try {
       isSavingRef.current = true;
-      const response = await axios.put(`${apiUrl}/api/characters/${character.id}/spells`, {
+      const response = await putCharacter(character, `${apiUrl}/api/characters/${character.id}/spells`, {
         spells: JSON.stringify(updatedSpells)
       });
       lastSavedSpellsRef.current = JSON.stringify(updatedSpells);
       onCharacterUpdated(response.data);
     } catch (error) {
       console.error('Error saving spells:', error);
+      isSavingRef.current = false;
+      if (isConflict(error)) {
+        await handleConflict();
+      }
     } finally {
       isSavingRef.current = false;
     }
@@ -140,13 +149,17 @@ const SpellsTab: React.FC<SpellsTabProps> = ({ character, apiUrl, onCharacterUpd
     // Update character in backend
     try {
       isSavingRef.current = true;
-      const response = await axios.put(`${apiUrl}/api/characters/${character.id}/spell-slots`, {
+      const response = await putCharacter(character, `${apiUrl}/api/characters/${character.id}/spell-slots`, {
         spellSlots: JSON.stringify(newSpellSlots)
       });
       lastSavedSpellSlotsRef.current = JSON.stringify(newSpellSlots);
       onCharacterUpdated(response.data);
     } catch (error) {
       console.error('Error updating spell slots:', error);
+      isSavingRef.current = false;
+      if (isConflict(error)) {
+        await handleConflict();
+      }
     } finally {
       setIsSaving(false);
       isSavingRef.current = false;
@@ -160,13 +173,17 @@ const SpellsTab: React.FC<SpellsTabProps> = ({ character, apiUrl, onCharacterUpd
 
     try {
       isSavingRef.current = true;
-      const response = await axios.put(`${apiUrl}/api/characters/${character.id}/spell-slots`, {
+      const response = await putCharacter(character, `${apiUrl}/api/characters/${character.id}/spell-slots`, {
         spellSlots: JSON.stringify(resetSlots)
       });
       lastSavedSpellSlotsRef.current = JSON.stringify(resetSlots);
       onCharacterUpdated(response.data);
     } catch (error) {
       console.error('Error resetting spell slots:', error);
+      isSavingRef.current = false;
+      if (isConflict(error)) {
+        await handleConflict();
+      }
     } finally {
       setIsSaving(false);
       isSavingRef.current = false;
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { Character } from '../../types/character';
+import { isConflict, putCharacter, reloadAfterConflict } from '../../characterWrites';
 import { FaArrowUp, FaArrowDown, FaMagic, FaCrosshairs, FaStar, FaPlus, FaTrash } from 'react-icons/fa';
 import axios from 'axios';
 
@@ -45,6 +46,8 @@ const SpellsWeaponsTab: React.FC<SpellsWeaponsTabProps> = ({ character, apiUrl,
   const [classActions, setClassActions] = useState<ClassAction[]>([]);
   const [weapons, setWeapons] = useState<Weapon[]>([]);
   const [isLoading, setIsLoading] = useState(false);
+  // Bumped when the sheet is reloaded after a conflict, so the tab loads it again
+  const [reloads, setReloads] = useState(0);
 
   // Load class actions data from character
   useEffect(() => {
@@ -89,7 +92,7 @@ const SpellsWeaponsTab: React.FC<SpellsWeaponsTabProps> = ({ character, apiUrl,
       }]);
     }
     setIsLoading(false);
-  }, [character.id]); // Only run when character ID changes, not when character object updates
+  }, [character.id, reloads]); // Only run when character ID changes or the sheet is reloaded, not on every update
 
   // Load weapons data from character
   useEffect(() => {
@@ -155,19 +158,32 @@ const SpellsWeaponsTab: React.FC<SpellsWeaponsTabProps> = ({ character, apiUrl,
       }]);
     }
     setIsLoading(false);
-  }, [character.id]); // Only run when character ID changes, not when character object updates
+  }, [character.id, reloads]); // Only run when character ID changes or the sheet is reloaded, not on every update
+
+  const handleConflict = async () => {
+    if (!apiUrl || !onCharacterUpdated) return;
+    try {
+      const current = await reloadAfterConflict(apiUrl, character);
+      onCharacterUpdated(current);
+      setReloads(count => count + 1);
+    } catch (error) {
+      console.error('Error reloading character:', error);
+    }
+  };
 
   const saveClassActions = async (actions: ClassAction[]) => {
     if (!apiUrl || !onCharacterUpdated) return;
     
     try {
-      const response = await axios.put(`${apiUrl}/api/characters/${character.id}/class-actions`, {
+      const response = await putCharacter(character, `${apiUrl}/api/characters/${character.id}/class-actions`, {
         classActions: JSON.stringify(actions)
       });
       onCharacterUpdated(response.data);
     } catch (error) {
       console.error('Error saving class actions:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict();
+      } else if (axios.isAxiosError(error) && error.response) {
         alert(`Error saving class actions: ${error.response.data}`);
       } else {
         alert('Error saving class actions. Please try again.');
@@ -179,13 +195,15 @@ const SpellsWeaponsTab: React.FC<SpellsWeaponsTabProps> = ({ character, apiUrl,
     if (!apiUrl || !onCharacterUpdated) return;
     
     try {
-      const response = await axios.put(`${apiUrl}/api/characters/${character.id}/weapons`, {
+      const response = await putCharacter(character, `${apiUrl}/api/characters/${character.id}/weapons`, {
         weapons: JSON.stringify(weaponsData)
       });
       onCharacterUpdated(response.data);
     } catch (error) {
       console.error('Error saving weapons:', error);
-      if (axios.isAxiosError(error) && error.response) {
+      if (isConflict(error)) {
+        await handleConflict();
+      } else if (axios.isAxiosError(error) && error.response) {
         alert(`Error saving weapons: ${error.response.data}`);
       } else {
         alert('Error saving weapons. Please try again.');
@@ -1,17 +1,21 @@
 import React from 'react';
 import { FaTrash, FaPlus, FaBug } from 'react-icons/fa';
-import { Character } from '../../types/character';
+import { CharacterSummary } from '../../types/character';
 
 interface CharacterListProps {
-  characters: Character[];
-  onCharacterSelect: (character: Character) => void;
-  onCharacterDelete: (e: React.MouseEvent, character: Character) => void;
+  characters: CharacterSummary[];
+  hasMore: boolean;
+  onLoadMore: () => void;
+  onCharacterSelect: (character: CharacterSummary) => void;
+  onCharacterDelete: (e: React.MouseEvent, character: CharacterSummary) => void;
   onCreateNew: () => void;
   onCreateDebug?: () => void;
 }
 
 const CharacterList: React.FC<CharacterListProps> = ({
   characters,
+  hasMore,
+  onLoadMore,
   onCharacterSelect,
   onCharacterDelete,
   onCreateNew,
@@ -53,15 +57,25 @@ const CharacterList: React.FC<CharacterListProps> = ({
               </div>
               <div className="space-y-3">
                 <p className="text-sm text-gray-600 dark:text-gray-300">
-                  {character.species.name} {character.characterClass.name} {character.level}
+                  {character.speciesName} {character.className} {character.level}
                 </p>
                 <p className="text-xs text-gray-500 dark:text-gray-400">
-                  {character.background.name}
+                  {character.backgroundName}
                 </p>
               </div>
             </div>
           ))}
         </div>
+        {hasMore && (
+          <div className="flex justify-center mt-6">
+            <button
+              onClick={onLoadMore}
+              className="px-4 py-2 text-gray-600 dark:text-gray-300 bg-gray-200 dark:bg-gray-600 rounded hover:bg-gray-300 dark:hover:bg-gray-500 transition-colors duration-200"
+            >
+              Load more
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
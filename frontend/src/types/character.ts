@@ -75,4 +75,23 @@ export interface Character {
   spells?: string;
   weapons?: string;
   createdAt: string;
-} 
\ No newline at end of file
+  version: number;
+}
+
+// Row of the character list, as returned by GET /api/characters
+export interface CharacterSummary {
+  id: number;
+  name: string;
+  level: number;
+  className: string | null;
+  speciesName: string | null;
+  backgroundName: string | null;
+  currentHp: number;
+  maxHp: number;
+  temporaryHp: number;
+}
+
+export interface CharacterPage {
+  items: CharacterSummary[];
+  nextCursor: number | null;
+}